@@ -1,9 +1,13 @@
 import java.io.InputStreamReader;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 import controller.IMazeController;
 import controller.TextMazeController;
 import controller.SwingMazeController;
+import model.GeneratorType;
 import model.IMaze;
+import model.Maze;
 import model.MazeBuilder;
 import view.IMazeView;
 import view.SwingMazeView;
@@ -24,6 +28,7 @@ public final class HuntTheWumpus {
     MazeBuilder mazeBuilder = new MazeBuilder();
     IMazeView view = new TextMazeView(System.out, new InputStreamReader(System.in));
     boolean usingTextView = false;
+    Path openFile = null;
 
     try {
       String cmd = args[0];
@@ -85,6 +90,40 @@ public final class HuntTheWumpus {
           case "-nonWrapping":
             mazeBuilder.setWrapping(false);
             break;
+          case "-parallel":
+            mazeBuilder.setParallelGeneration(true);
+            break;
+          case "-compact":
+            mazeBuilder.setCompactStorage(true);
+            break;
+          case "-save":
+            try {
+              mazeBuilder.setStorageFile(Paths.get(args[i + 1]));
+              i++;
+            } catch (Exception e) {
+              System.out.println("-save Must be followed by a file name.");
+              System.exit(0);
+            }
+            break;
+          case "-open":
+            try {
+              openFile = Paths.get(args[i + 1]);
+              i++;
+            } catch (Exception e) {
+              System.out.println("-open Must be followed by a file name.");
+              System.exit(0);
+            }
+            break;
+          case "-generator":
+            try {
+              mazeBuilder.setGeneratorType(GeneratorType.valueOf(args[i + 1].toUpperCase()));
+              i++;
+            } catch (Exception e) {
+              System.out.println("-generator Must be followed by one of: kruskal, prim, "
+                      + "backtracker, wilson, aldous_broder.");
+              System.exit(0);
+            }
+            break;
           case "-sRow":
             try {
               mazeBuilder.setsRow((Integer.parseInt(args[i + 1])));
@@ -177,7 +216,7 @@ public final class HuntTheWumpus {
     IMazeController controller = null;
     if (usingTextView) {
       try {
-        IMaze model = mazeBuilder.build();
+        IMaze model = openFile == null ? mazeBuilder.build() : Maze.open(openFile);
         controller = new TextMazeController(model, view);
       } catch (Exception e) {
         System.out.println(e.getMessage());
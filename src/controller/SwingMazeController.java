@@ -68,6 +68,7 @@ public class SwingMazeController extends TextMazeController {
     //Creates a new view to allow it to re adjust all the frame sizing
     this.view = new SwingMazeView();
     this.view.setEventController(this);
+    this.shownVersion = -1;
 
   }
 
@@ -1,6 +1,7 @@
 package controller;
 
 
+import model.CommandStatus;
 import model.Direction;
 import model.IMaze;
 import model.Position;
@@ -16,6 +17,8 @@ public class TextMazeController implements IMazeController, EventController {
   protected IMazeView view;
   protected boolean modelChanged;
   protected boolean creatingNewGame;
+  //the version of the model the view has the rooms of, or -1 if it has none yet
+  protected long shownVersion;
 
   /**
    * Creates the controller/listener for the given view and model.
@@ -29,6 +32,7 @@ public class TextMazeController implements IMazeController, EventController {
     this.modelChanged = true;
     this.view.setEventController(this);
     this.creatingNewGame = false;
+    this.shownVersion = -1;
 
 
 
@@ -70,7 +74,13 @@ public class TextMazeController implements IMazeController, EventController {
    * Updates the info in the view from the model.
    */
   protected void updateView() {
-    this.view.setNodes(this.model.getNodes());
+    //after the first time only the rooms that changed are sent
+    if (this.shownVersion < 0) {
+      this.view.setNodes(this.model.snapshot().getNodes());
+    } else {
+      this.view.updateNodes(this.model.getChangedNodes(this.shownVersion));
+    }
+    this.shownVersion = this.model.getVersion();
     this.view.setTurn(this.model.playerNumTurn());
     this.view.setPlayerPos(this.model.getPlayerLocation());
     this.view.setPossibleMoves(this.model.possiblePlayerMoves());
@@ -82,14 +92,15 @@ public class TextMazeController implements IMazeController, EventController {
 
   @Override
   public void movePlayer(Direction direction) {
-    try {
-      this.model.movePlayer(direction);
-      this.modelChanged = true;
-    } catch (IllegalArgumentException e) {
-      this.view.displayError("Illegal move, please try again in a valid direction.");
-
-    } catch (IllegalStateException e) {
-      this.view.displayError("You should not be able to move the game is over.");
+    switch (this.model.tryMove(direction)) {
+      case OK:
+        this.modelChanged = true;
+        break;
+      case GAME_OVER:
+        this.view.displayError("You should not be able to move the game is over.");
+        break;
+      default:
+        this.view.displayError("Illegal move, please try again in a valid direction.");
     }
 
   }
@@ -109,12 +120,16 @@ public class TextMazeController implements IMazeController, EventController {
 
   @Override
   public void shootArrow(Direction dir, int distance) {
-    try {
-      this.model.fireArrow(dir, distance);
-      this.modelChanged = true;
-    } catch (IllegalArgumentException | IllegalStateException e) {
-      this.view.displayError(e.getMessage());
-
+    CommandStatus status = this.model.tryShoot(dir, distance);
+    switch (status) {
+      case OK:
+        this.modelChanged = true;
+        break;
+      case GAME_OVER:
+        this.view.displayError("The game is over you cannot shoot");
+        break;
+      default:
+        this.view.displayError(status.getMessage());
     }
   }
 
@@ -122,6 +137,7 @@ public class TextMazeController implements IMazeController, EventController {
   @Override
   public void restartGame() {
     this.model = this.model.restart();
+    this.shownVersion = -1;
     this.modelChanged = true;
 
 
@@ -137,6 +153,7 @@ public class TextMazeController implements IMazeController, EventController {
   @Override
   public void useModel(IMaze model) {
     this.model = model;
+    this.shownVersion = -1;
   }
 
 
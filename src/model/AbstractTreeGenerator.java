@@ -0,0 +1,137 @@
+package model;
+
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Represents a generator that carves a spanning tree of the maze one edge at a time, such as by
+ * walking through the rooms. Once the tree is carved, any extra edges the maze needs are taken from
+ * the edges not in the tree in a random order drawn from the seed.
+ */
+abstract class AbstractTreeGenerator implements MazeGenerator {
+  protected static final Direction[] DIRECTIONS = Direction.values();
+
+  @Override
+  public int[] generate(int rows, int cols, boolean isWrapping, int edgesNeeded, long seed) {
+    if ((long) rows * cols > EdgeList.MAX_CELLS) {
+      throw new IllegalArgumentException("The maze has too many rooms to be generated");
+    }
+    Carving carving = new Carving(rows, cols, isWrapping, edgesNeeded);
+    this.carveTree(carving, new Random(seed));
+    if (carving.edgeCount == edgesNeeded) {
+      return carving.edges;
+    }
+
+    BitSet inTree = new BitSet(2 * rows * cols);
+    for (int i = 0; i < carving.edgeCount; i++) {
+      inTree.set(carving.edges[i]);
+    }
+    EdgeList extraEdges = new EdgeList(rows, cols, isWrapping, seed);
+    for (int i = 0; carving.edgeCount < edgesNeeded; i++) {
+      int edge = extraEdges.get(i);
+      if (!inTree.get(edge)) {
+        carving.edges[carving.edgeCount] = edge;
+        carving.edgeCount++;
+      }
+    }
+    return carving.edges;
+  }
+
+  /**
+   * Carves a spanning tree of the maze, connecting every room.
+   *
+   * @param carving the maze being carved
+   * @param rand    the random to make choices with
+   */
+  protected abstract void carveTree(Carving carving, Random rand);
+
+  /**
+   * Represents a maze that is having its edges carved. Knows the shape of the board and keeps the
+   * edges carved so far in order.
+   */
+  protected static final class Carving {
+    private final int rows;
+    private final int cols;
+    private final boolean isWrapping;
+    private final int[] edges;
+    private int edgeCount;
+
+    /**
+     * Creates a maze with no edges carved yet.
+     *
+     * @param rows        the rows in the maze
+     * @param cols        the cols in the maze
+     * @param isWrapping  whether or not the maze wraps.
+     * @param edgesNeeded the amount of edges the maze will have
+     */
+    private Carving(int rows, int cols, boolean isWrapping, int edgesNeeded) {
+      this.rows = rows;
+      this.cols = cols;
+      this.isWrapping = isWrapping;
+      this.edges = new int[edgesNeeded];
+      this.edgeCount = 0;
+    }
+
+    /**
+     * Returns the amount of cells in the maze.
+     *
+     * @return the amount of cells.
+     */
+    int cells() {
+      return this.rows * this.cols;
+    }
+
+    /**
+     * Returns the cell next to the given cell in the given direction, wrapping if the maze wraps.
+     *
+     * @param cell the index of the cell
+     * @param dir  the direction to look in
+     * @return the index of the neighbor, or -1 if there is no other cell that way.
+     */
+    int neighbor(int cell, Direction dir) {
+      int row = cell / this.cols;
+      int col = cell % this.cols;
+      int neighbor;
+      switch (dir) {
+        case NORTH:
+          neighbor = row > 0 ? cell - this.cols
+                  : this.isWrapping ? cell + (this.rows - 1) * this.cols : -1;
+          break;
+        case SOUTH:
+          neighbor = row < this.rows - 1 ? cell + this.cols : this.isWrapping ? col : -1;
+          break;
+        case EAST:
+          neighbor = col < this.cols - 1 ? cell + 1
+                  : this.isWrapping ? cell - (this.cols - 1) : -1;
+          break;
+        case WEST:
+          neighbor = col > 0 ? cell - 1 : this.isWrapping ? cell + this.cols - 1 : -1;
+          break;
+        default:
+          throw new IllegalArgumentException("No null inputs");
+      }
+      return neighbor == cell ? -1 : neighbor;
+    }
+
+    /**
+     * Carves the edge leaving the given cell in the given direction.
+     *
+     * @param cell the index of the cell
+     * @param dir  the direction of the edge
+     */
+    void connect(int cell, Direction dir) {
+      int edge;
+      switch (dir) {
+        case SOUTH:
+        case EAST:
+          edge = EdgeList.pack(cell, dir);
+          break;
+        default:
+          //edges are stored from the cell to the north or west
+          edge = EdgeList.pack(this.neighbor(cell, dir), dir.opposite());
+      }
+      this.edges[this.edgeCount] = edge;
+      this.edgeCount++;
+    }
+  }
+}
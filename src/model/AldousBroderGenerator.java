@@ -0,0 +1,38 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Generates mazes with the Aldous-Broder algorithm. A single random walk wanders the maze, and
+ * every time it steps into a room it has not been to the edge it took is carved. Picks evenly from
+ * every possible perfect maze, but is slow to finish on large mazes.
+ */
+final class AldousBroderGenerator extends AbstractTreeGenerator {
+
+  @Override
+  protected void carveTree(Carving carving, Random rand) {
+    boolean[] visited = new boolean[carving.cells()];
+    Direction[] options = new Direction[DIRECTIONS.length];
+
+    int cell = rand.nextInt(carving.cells());
+    visited[cell] = true;
+    int unvisited = carving.cells() - 1;
+    while (unvisited > 0) {
+      int optionCount = 0;
+      for (Direction dir : DIRECTIONS) {
+        if (carving.neighbor(cell, dir) >= 0) {
+          options[optionCount] = dir;
+          optionCount++;
+        }
+      }
+      Direction dir = options[rand.nextInt(optionCount)];
+      int next = carving.neighbor(cell, dir);
+      if (!visited[next]) {
+        carving.connect(cell, dir);
+        visited[next] = true;
+        unvisited--;
+      }
+      cell = next;
+    }
+  }
+}
@@ -0,0 +1,130 @@
+package model;
+
+/**
+ * Represents where arrows fired in a layout hit the wumpus. An arrow always flies the same way from
+ * a room in a direction: through hallways, which turn it, and on through rooms, which count for
+ * distance, until a room has no connection to keep going in. So each room and direction only has
+ * one distance that hits the wumpus first, and the table stores that distance along with the
+ * direction the wumpus is entered in, which is where the arrow carries on from if it flies further.
+ *
+ * <p>The table is built backwards from the wumpus using the {@link RoomGraph}, so only the room and
+ * direction pairs that lead to the wumpus are stored. Every other shot misses, and is not stored.
+ */
+final class ArrowTable {
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final MazeBoard board;
+  private final int wumpus;
+  //one map per direction, from a room to the first hit shifted left twice and the arrival direction
+  private final IntLongMap[] hits;
+  //the length of the loop an arrow carrying on from the wumpus in each direction is on, or zero
+  private final long[] loops;
+
+  /**
+   * Builds the table for a board.
+   *
+   * @param board  the board
+   * @param graph  the room graph of the board
+   * @param wumpus the index of the wumpus room
+   */
+  ArrowTable(MazeBoard board, RoomGraph graph, int wumpus) {
+    this.board = board;
+    this.wumpus = wumpus;
+    this.hits = new IntLongMap[DIRECTIONS.length];
+    for (Direction dir : DIRECTIONS) {
+      this.hits[dir.ordinal()] = new IntLongMap();
+    }
+
+    //follows each way into the wumpus back to where an arrow could have been fired from
+    for (Direction into : DIRECTIONS) {
+      if (!this.connected(wumpus, into.opposite())) {
+        continue;
+      }
+      int room = wumpus;
+      Direction arrival = into;
+      long distance = 1;
+      while (true) {
+        int from = graph.destination(room, arrival.opposite());
+        Direction dir = graph.arrival(room, arrival.opposite()).opposite();
+        this.hits[dir.ordinal()].put(from, (distance << 2) | into.ordinal());
+        //an arrow only passes through a room it was not fired from if it can keep flying straight
+        if (from == wumpus || !this.connected(from, dir.opposite())) {
+          break;
+        }
+        room = from;
+        arrival = dir;
+        distance++;
+      }
+    }
+
+    //arrows that fly on past the wumpus may loop back into it forever on a wrapping board
+    this.loops = new long[DIRECTIONS.length];
+    for (Direction dir : DIRECTIONS) {
+      long length = 0;
+      Direction next = dir;
+      for (int i = 0; i < DIRECTIONS.length; i++) {
+        long hit = this.hits[next.ordinal()].get(wumpus, -1);
+        if (hit == -1) {
+          break;
+        }
+        length += hit >>> 2;
+        next = DIRECTIONS[(int) hit & 3];
+        if (next == dir) {
+          this.loops[dir.ordinal()] = length;
+          break;
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the shortest distance an arrow fired from a room in a direction hits the wumpus at.
+   *
+   * @param cell the index of the room
+   * @param dir  the direction
+   * @return the distance, or zero if the arrow never hits.
+   */
+  long firstHit(int cell, Direction dir) {
+    return this.hits[dir.ordinal()].get(cell, 0) >>> 2;
+  }
+
+  /**
+   * Checks if an arrow fired from a room in a direction hits the wumpus at a distance.
+   *
+   * @param cell     the index of the room
+   * @param dir      the direction
+   * @param distance the distance
+   * @return if the arrow hits.
+   */
+  boolean hits(int cell, Direction dir, long distance) {
+    long hit = this.hits[dir.ordinal()].get(cell, -1);
+    //at most every direction out of the wumpus is passed before the arrow stops or loops
+    for (int i = 0; i <= 2 * DIRECTIONS.length && hit != -1; i++) {
+      long first = hit >>> 2;
+      if (distance <= first) {
+        return distance == first;
+      }
+      distance -= first;
+      Direction on = DIRECTIONS[(int) hit & 3];
+      if (this.loops[on.ordinal()] != 0) {
+        distance %= this.loops[on.ordinal()];
+        if (distance == 0) {
+          return true;
+        }
+      }
+      hit = this.hits[on.ordinal()].get(this.wumpus, -1);
+    }
+    return false;
+  }
+
+  /**
+   * Checks if a cell has a connection in a direction.
+   *
+   * @param cell the index of the cell
+   * @param dir  the direction
+   * @return if it is connected.
+   */
+  private boolean connected(int cell, Direction dir) {
+    return (this.board.connectionMask(cell) & (1 << dir.ordinal())) != 0;
+  }
+}
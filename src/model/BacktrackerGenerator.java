@@ -0,0 +1,44 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Generates mazes with the recursive backtracker, a randomized depth first search. The recursion is
+ * kept on an explicit stack so large mazes cannot overflow the call stack. Gives mazes with long
+ * winding passages and few dead ends.
+ */
+final class BacktrackerGenerator extends AbstractTreeGenerator {
+
+  @Override
+  protected void carveTree(Carving carving, Random rand) {
+    boolean[] visited = new boolean[carving.cells()];
+    int[] stack = new int[carving.cells()];
+    Direction[] options = new Direction[DIRECTIONS.length];
+
+    int start = rand.nextInt(carving.cells());
+    visited[start] = true;
+    stack[0] = start;
+    int top = 1;
+    while (top > 0) {
+      int cell = stack[top - 1];
+      int optionCount = 0;
+      for (Direction dir : DIRECTIONS) {
+        int neighbor = carving.neighbor(cell, dir);
+        if (neighbor >= 0 && !visited[neighbor]) {
+          options[optionCount] = dir;
+          optionCount++;
+        }
+      }
+      if (optionCount == 0) {
+        top--;
+        continue;
+      }
+      Direction dir = options[rand.nextInt(optionCount)];
+      int next = carving.neighbor(cell, dir);
+      carving.connect(cell, dir);
+      visited[next] = true;
+      stack[top] = next;
+      top++;
+    }
+  }
+}
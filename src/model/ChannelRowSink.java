@@ -0,0 +1,59 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A {@link RowSink} that writes rows to a channel, such as a file. Each cell is written as four
+ * bits, two cells to a byte with the first cell in the low bits, so every row takes up half its
+ * cols in bytes, rounded up. Nothing else is written, so the reader must know the size of the
+ * maze.
+ */
+public final class ChannelRowSink implements RowSink {
+  private final WritableByteChannel channel;
+  private ByteBuffer buffer;
+
+  /**
+   * Creates a sink that writes to the given channel. The channel is not closed by the sink.
+   *
+   * @param channel the channel to write to
+   */
+  public ChannelRowSink(WritableByteChannel channel) {
+    if (channel == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    this.channel = channel;
+    this.buffer = ByteBuffer.allocate(0);
+  }
+
+  /**
+   * Returns how many bytes a row of the given amount of cols takes up.
+   *
+   * @param cols the cols in the row
+   * @return the bytes in the row.
+   */
+  public static int bytesPerRow(int cols) {
+    return (cols + 1) / 2;
+  }
+
+  @Override
+  public void acceptRow(int row, byte[] connections) throws IOException {
+    int rowBytes = bytesPerRow(connections.length);
+    if (this.buffer.capacity() != rowBytes) {
+      this.buffer = ByteBuffer.allocate(rowBytes);
+    }
+    this.buffer.clear();
+    for (int c = 0; c < connections.length; c += 2) {
+      int packed = connections[c] & 0xF;
+      if (c + 1 < connections.length) {
+        packed |= (connections[c + 1] & 0xF) << 4;
+      }
+      this.buffer.put((byte) packed);
+    }
+    this.buffer.flip();
+    while (this.buffer.hasRemaining()) {
+      this.channel.write(this.buffer);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Represents work split into a number of chunks that can be run on a {@link ForkJoinPool}. The
+ * range of chunks is split in half until a single chunk is left, which is then run.
+ */
+final class ChunkedTask extends RecursiveAction {
+  private static final long serialVersionUID = 1L;
+
+  private final int firstChunk;
+  private final int lastChunk;
+  private final IntConsumer work;
+
+  /**
+   * Creates a task that runs the given chunks.
+   *
+   * @param firstChunk the first chunk to run, inclusive
+   * @param lastChunk  the last chunk to run, exclusive
+   * @param work       the work to run for each chunk, given the chunk number
+   */
+  private ChunkedTask(int firstChunk, int lastChunk, IntConsumer work) {
+    this.firstChunk = firstChunk;
+    this.lastChunk = lastChunk;
+    this.work = work;
+  }
+
+  /**
+   * Runs the work for every chunk, on the pool if one is given or in the calling thread if not.
+   * Returns once every chunk has been run.
+   *
+   * @param pool   the pool to run on, or null to run in the calling thread
+   * @param chunks the amount of chunks
+   * @param work   the work to run for each chunk, given the chunk number
+   */
+  static void run(ForkJoinPool pool, int chunks, IntConsumer work) {
+    if (pool == null || chunks == 1) {
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        work.accept(chunk);
+      }
+    } else {
+      pool.invoke(new ChunkedTask(0, chunks, work));
+    }
+  }
+
+  /**
+   * Returns the amount of chunks a range of work should be split into so that each chunk is at
+   * least the given size, and there are enough chunks to keep the pool busy.
+   *
+   * @param pool     the pool to run on, or null to run in the calling thread
+   * @param length   the length of the range
+   * @param minChunk the smallest size a chunk should be
+   * @return the amount of chunks.
+   */
+  static int chunksFor(ForkJoinPool pool, int length, int minChunk) {
+    if (pool == null) {
+      return 1;
+    }
+    return Math.max(1, Math.min(length / minChunk, pool.getParallelism() * 4));
+  }
+
+  @Override
+  protected void compute() {
+    if (this.lastChunk - this.firstChunk == 1) {
+      this.work.accept(this.firstChunk);
+      return;
+    }
+    int middle = (this.firstChunk + this.lastChunk) >>> 1;
+    invokeAll(new ChunkedTask(this.firstChunk, middle, this.work),
+            new ChunkedTask(middle, this.lastChunk, this.work));
+  }
+}
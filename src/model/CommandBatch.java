@@ -0,0 +1,115 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Represents a list of moves and shots to be run on a game in one call with
+ * {@link IMaze#apply(CommandBatch)}. Every command is checked as it is added, so running the batch
+ * only has to check the commands against the game. Each command is packed into a single int, with
+ * the direction in the lowest two bits, a bit for whether it is a shot, and the distance of a shot
+ * above that.
+ */
+public final class CommandBatch {
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final int SHOT = 1 << 2;
+  //the longest shot that still fits above the direction and shot bits
+  private static final int MAX_DISTANCE = Integer.MAX_VALUE >>> 3;
+
+  private int[] commands;
+  private int size;
+
+  /**
+   * Creates an empty batch.
+   */
+  public CommandBatch() {
+    this.commands = new int[8];
+    this.size = 0;
+  }
+
+  /**
+   * Adds a move to the batch.
+   *
+   * @param direction the direction to move
+   * @return this batch, so commands can be chained.
+   */
+  public CommandBatch move(Direction direction) {
+    if (direction == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    this.add(direction.ordinal());
+    return this;
+  }
+
+  /**
+   * Adds a shot to the batch.
+   *
+   * @param direction the direction to shoot
+   * @param distance  the distance to shoot
+   * @return this batch, so commands can be chained.
+   */
+  public CommandBatch shoot(Direction direction, int distance) {
+    if (direction == null) {
+      throw new IllegalArgumentException("No null directions");
+    }
+    if (distance < 1) {
+      throw new IllegalArgumentException("You must shoot an arrow greater than 1 units far");
+    }
+    if (distance > MAX_DISTANCE) {
+      throw new IllegalArgumentException("A batch cannot shoot an arrow more than "
+              + MAX_DISTANCE + " units far");
+    }
+    this.add((distance << 3) | SHOT | direction.ordinal());
+    return this;
+  }
+
+  /**
+   * Returns how many commands are in the batch.
+   *
+   * @return the amount of commands.
+   */
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Checks if a command is a shot.
+   *
+   * @param index the index of the command
+   * @return if it is a shot, or false for a move.
+   */
+  boolean isShot(int index) {
+    return (this.commands[index] & SHOT) != 0;
+  }
+
+  /**
+   * Returns the direction of a command.
+   *
+   * @param index the index of the command
+   * @return the direction.
+   */
+  Direction direction(int index) {
+    return DIRECTIONS[this.commands[index] & 3];
+  }
+
+  /**
+   * Returns the distance of a shot.
+   *
+   * @param index the index of the command
+   * @return the distance.
+   */
+  int distance(int index) {
+    return this.commands[index] >>> 3;
+  }
+
+  /**
+   * Adds a packed command, growing the array if it is full.
+   *
+   * @param command the packed command
+   */
+  private void add(int command) {
+    if (this.size == this.commands.length) {
+      this.commands = Arrays.copyOf(this.commands, this.size * 2);
+    }
+    this.commands[this.size++] = command;
+  }
+}
@@ -0,0 +1,136 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Represents what happened when one command of a {@link CommandBatch} was run: whether the game
+ * took it, and the game as the player who gave it sees it afterwards. This holds everything a bot
+ * would otherwise ask the game for one getter at a time, as a few ints.
+ */
+public final class CommandResult {
+  private final CommandStatus status;
+  private final int player;
+  private final int row;
+  private final int col;
+  private final int arrows;
+  //the player's effects packed in the order they happened, three bits an effect
+  private final int effects;
+  private final int turn;
+  private final boolean gameOver;
+  private final long version;
+
+  /**
+   * Creates a result.
+   *
+   * @param status   whether the game took the command, or why not
+   * @param player   the number of the player who gave the command
+   * @param row      the row the player is in afterwards
+   * @param col      the col the player is in afterwards
+   * @param arrows   the arrows the player has afterwards
+   * @param effects  the player's effects afterwards, packed
+   * @param turn     the number of the player whose turn it is afterwards
+   * @param gameOver if the game is over afterwards
+   * @param version  the version of the game afterwards
+   */
+  CommandResult(CommandStatus status, int player, int row, int col, int arrows, int effects,
+                int turn, boolean gameOver, long version) {
+    this.status = status;
+    this.player = player;
+    this.row = row;
+    this.col = col;
+    this.arrows = arrows;
+    this.effects = effects;
+    this.turn = turn;
+    this.gameOver = gameOver;
+    this.version = version;
+  }
+
+  /**
+   * Checks if the game took the command. A command is not taken if it could not be done, such as
+   * moving into a wall or shooting after the game is over, and the rest of the batch is not run.
+   *
+   * @return if the command was applied.
+   */
+  public boolean wasApplied() {
+    return this.status == CommandStatus.OK;
+  }
+
+  /**
+   * Returns whether the game took the command, or why not.
+   *
+   * @return the status.
+   */
+  public CommandStatus getStatus() {
+    return this.status;
+  }
+
+  /**
+   * Returns the number of the player who gave the command.
+   *
+   * @return the player number.
+   */
+  public int getPlayer() {
+    return this.player;
+  }
+
+  /**
+   * Returns where the player who gave the command is afterwards.
+   *
+   * @return the location.
+   */
+  public Position getPlayerLocation() {
+    return new Position(this.row, this.col);
+  }
+
+  /**
+   * Returns the arrows the player who gave the command has afterwards.
+   *
+   * @return the amount of arrows.
+   */
+  public int getArrowAmount() {
+    return this.arrows;
+  }
+
+  /**
+   * Returns the effects the command had on the player who gave it, in the order they happened.
+   *
+   * @return the effects.
+   */
+  public List<PlayerEffect> getEffects() {
+    return Player.effectList(this.effects);
+  }
+
+  /**
+   * Returns the number of the player whose turn it is afterwards.
+   *
+   * @return the player number.
+   */
+  public int playerNumTurn() {
+    return this.turn;
+  }
+
+  /**
+   * Checks if the game is over afterwards.
+   *
+   * @return if the game is over.
+   */
+  public boolean isGameOver() {
+    return this.gameOver;
+  }
+
+  /**
+   * Returns the version of the game afterwards, which can be given to
+   * {@link IMaze#getChangedNodes(long)} to find the rooms the batch changed.
+   *
+   * @return the version.
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  @Override
+  public String toString() {
+    return this.status + " player " + this.player + " at ("
+            + this.row + "," + this.col + ") " + this.getEffects();
+  }
+}
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Represents whether a game took a move or a shot, and if not, why not. Games return these from
+ * {@link IMaze#tryMove(Direction)} and {@link IMaze#tryShoot(Direction, int)} instead of throwing,
+ * so a bot trying out moves that can not be made does not pay for making exceptions.
+ */
+public enum CommandStatus {
+  OK, WALL, GAME_OVER, NO_ARROWS, BAD_DISTANCE, NO_DIRECTION;
+
+  /**
+   * Returns a message saying why the command was not taken.
+   *
+   * @return the message, or an empty string for OK.
+   */
+  public String getMessage() {
+    switch (this) {
+      case WALL:
+        return "The player cannot move in that direction";
+      case GAME_OVER:
+        return "The game is over";
+      case NO_ARROWS:
+        return "Player is out of arrows";
+      case BAD_DISTANCE:
+        return "You must shoot an arrow greater than 1 units far";
+      case NO_DIRECTION:
+        return "No null directions";
+      default:
+        return "";
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * A packed board that keeps its rooms in arrays on the heap, using a few bytes per room. Each
+ * room's connections, room type and attributes are a byte each.
+ */
+final class CompactBoard extends PackedBoard {
+  private final byte[] connections;
+  private final byte[] roomTypes;
+  private final byte[] attributes;
+
+  /**
+   * Creates a board of empty rooms.
+   *
+   * @param rows the rows on the board
+   * @param cols the cols on the board
+   */
+  CompactBoard(int rows, int cols) {
+    super(rows, cols);
+    this.connections = new byte[rows * cols];
+    this.roomTypes = new byte[rows * cols];
+    this.attributes = new byte[rows * cols];
+    Arrays.fill(this.roomTypes, (byte) RoomType.EMPTY.ordinal());
+  }
+
+  @Override
+  int connections(int cell) {
+    return this.connections[cell];
+  }
+
+  @Override
+  void setConnections(int cell, int connections) {
+    this.connections[cell] = (byte) connections;
+  }
+
+  @Override
+  int roomType(int cell) {
+    return this.roomTypes[cell];
+  }
+
+  @Override
+  void setRoomType(int cell, int roomType) {
+    this.roomTypes[cell] = (byte) roomType;
+  }
+
+  @Override
+  int attributes(int cell) {
+    return this.attributes[cell];
+  }
+
+  @Override
+  void setAttributes(int cell, int attributes) {
+    this.attributes[cell] = (byte) attributes;
+  }
+}
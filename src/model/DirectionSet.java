@@ -0,0 +1,165 @@
+package model;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Represents a set of {@link Direction}s, such as the directions a room is connected in. The set is
+ * stored as a 4 bit mask with the bit for each direction's ordinal set, and there are only 16
+ * possible sets, so every set is made once and shared. Sets can not be changed, and iterate in the
+ * order the directions are declared in.
+ */
+public final class DirectionSet extends AbstractSet<Direction> {
+  private static final Direction[] DIRECTIONS = Direction.values();
+  private static final DirectionSet[] SETS = new DirectionSet[1 << DIRECTIONS.length];
+
+  static {
+    for (int mask = 0; mask < SETS.length; mask++) {
+      SETS[mask] = new DirectionSet(mask);
+    }
+  }
+
+  private final int mask;
+
+  /**
+   * Creates the set for a mask.
+   *
+   * @param mask the mask
+   */
+  private DirectionSet(int mask) {
+    this.mask = mask;
+  }
+
+  /**
+   * Returns the set with the bit for each direction's ordinal set in the mask.
+   *
+   * @param mask the mask
+   * @return the set.
+   */
+  static DirectionSet of(int mask) {
+    if (mask < 0 || mask >= SETS.length) {
+      throw new IllegalArgumentException("That is not a mask of directions");
+    }
+    return SETS[mask];
+  }
+
+  /**
+   * Returns the set of the given directions.
+   *
+   * @param directions the directions
+   * @return the set.
+   */
+  public static DirectionSet of(Direction... directions) {
+    int mask = 0;
+    for (Direction dir : directions) {
+      if (dir == null) {
+        throw new IllegalArgumentException("no null inputs");
+      }
+      mask |= 1 << dir.ordinal();
+    }
+    return SETS[mask];
+  }
+
+  /**
+   * Returns the empty set.
+   *
+   * @return the empty set.
+   */
+  public static DirectionSet none() {
+    return SETS[0];
+  }
+
+  /**
+   * Returns the mask of this set.
+   *
+   * @return the mask.
+   */
+  int mask() {
+    return this.mask;
+  }
+
+  /**
+   * Returns this set with a direction added.
+   *
+   * @param dir the direction to add
+   * @return the new set.
+   */
+  public DirectionSet with(Direction dir) {
+    return SETS[this.mask | (1 << dir.ordinal())];
+  }
+
+  /**
+   * Returns this set with a direction taken out.
+   *
+   * @param dir the direction to take out
+   * @return the new set.
+   */
+  public DirectionSet without(Direction dir) {
+    return SETS[this.mask & ~(1 << dir.ordinal())];
+  }
+
+  /**
+   * Returns the first direction in this set, in declared order.
+   *
+   * @return the first direction.
+   * @throws NoSuchElementException if the set is empty
+   */
+  public Direction first() {
+    if (this.mask == 0) {
+      throw new NoSuchElementException("The set is empty");
+    }
+    return DIRECTIONS[Integer.numberOfTrailingZeros(this.mask)];
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    return o instanceof Direction && (this.mask & (1 << ((Direction) o).ordinal())) != 0;
+  }
+
+  @Override
+  public int size() {
+    return Integer.bitCount(this.mask);
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.mask == 0;
+  }
+
+  @Override
+  public Iterator<Direction> iterator() {
+    return new Iterator<>() {
+      private int left = DirectionSet.this.mask;
+
+      @Override
+      public boolean hasNext() {
+        return this.left != 0;
+      }
+
+      @Override
+      public Direction next() {
+        if (this.left == 0) {
+          throw new NoSuchElementException();
+        }
+        Direction dir = DIRECTIONS[Integer.numberOfTrailingZeros(this.left)];
+        this.left &= this.left - 1;
+        return dir;
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (other instanceof DirectionSet) {
+      return ((DirectionSet) other).mask == this.mask;
+    }
+    return super.equals(other);
+  }
+
+  @Override
+  public int hashCode() {
+    //matches the hash of any other set of the same directions
+    return super.hashCode();
+  }
+}
@@ -0,0 +1,99 @@
+package model;
+
+/**
+ * Represents a disjoint set (union find) over the cells of a maze board. Cells are referred to by
+ * their index, which is row * cols + col. Sets are stored as a parent array with path compression
+ * and union by rank, so finding and joining sets never recurses and is close to constant time.
+ */
+final class DisjointSet {
+  private final int[] parent;
+  private final byte[] rank;
+
+  /**
+   * Creates a disjoint set where every cell of a board of the given size is in its own set.
+   *
+   * @param rows the rows of the board
+   * @param cols the cols of the board
+   */
+  DisjointSet(int rows, int cols) {
+    if (rows < 1 || cols < 1) {
+      throw new IllegalArgumentException("The board must have at least one cell");
+    }
+    this.parent = new int[rows * cols];
+    //ranks are bounded by log2 of the cell count so a byte is always enough
+    this.rank = new byte[rows * cols];
+    for (int i = 0; i < this.parent.length; i++) {
+      this.parent[i] = i;
+    }
+  }
+
+  /**
+   * Finds the leader of the set the given cell is in. Compresses the path along the way by pointing
+   * every other cell at its grandparent (path halving).
+   *
+   * @param cell the index of the cell
+   * @return the index of the set leader.
+   */
+  int find(int cell) {
+    while (this.parent[cell] != cell) {
+      this.parent[cell] = this.parent[this.parent[cell]];
+      cell = this.parent[cell];
+    }
+    return cell;
+  }
+
+  /**
+   * Checks if two cells are already in the same set.
+   *
+   * @param first  the index of the first cell
+   * @param second the index of the second cell
+   * @return if they are in the same set.
+   */
+  boolean connected(int first, int second) {
+    return this.find(first) == this.find(second);
+  }
+
+  /**
+   * Checks if two cells are already in the same set without compressing any paths. Since it does
+   * not write to the set, any number of threads can call it at once as long as no sets are being
+   * joined at the same time.
+   *
+   * @param first  the index of the first cell
+   * @param second the index of the second cell
+   * @return if they are in the same set.
+   */
+  boolean sameSet(int first, int second) {
+    while (this.parent[first] != first) {
+      first = this.parent[first];
+    }
+    while (this.parent[second] != second) {
+      second = this.parent[second];
+    }
+    return first == second;
+  }
+
+  /**
+   * Joins the sets of the two cells. The shorter tree is always placed under the taller one.
+   *
+   * @param first  the index of the first cell
+   * @param second the index of the second cell
+   * @return true if the sets were joined, false if the cells were already in the same set.
+   */
+  boolean union(int first, int second) {
+    int firstLeader = this.find(first);
+    int secondLeader = this.find(second);
+    if (firstLeader == secondLeader) {
+      return false;
+    }
+    if (this.rank[firstLeader] < this.rank[secondLeader]) {
+      this.parent[firstLeader] = secondLeader;
+    } else if (this.rank[firstLeader] > this.rank[secondLeader]) {
+      this.parent[secondLeader] = firstLeader;
+    } else {
+      this.parent[secondLeader] = firstLeader;
+      this.rank[firstLeader]++;
+    }
+    return true;
+  }
+
+}
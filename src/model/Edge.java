@@ -29,11 +29,6 @@ final class Edge implements IEdge {
   }
 
 
-  @Override
-  public boolean areNodesConnected() {
-    return this.nodes[0].findLeader() == this.nodes[1].findLeader();
-  }
-
   @Override
   public void assignMySelf() {
     this.nodes[0].setConnectedDirection(this.dir);
@@ -41,12 +36,6 @@ final class Edge implements IEdge {
 
   }
 
-  @Override
-  public void unionNodes() {
-
-    this.nodes[0].findLeader().setLeader(this.nodes[1].findLeader());
-  }
-
   @Override
   public int getWeight() {
     return this.weight;
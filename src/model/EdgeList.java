@@ -0,0 +1,226 @@
+package model;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents every edge that can possibly be used in a maze, sorted by a random weight. Edges are
+ * packed into a single int each, rather than being {@link Edge} objects. An edge is stored as the
+ * index of its starting cell (row * cols + col) shifted left once, with the lowest bit set for an
+ * edge going {@link Direction#EAST} and clear for one going {@link Direction#SOUTH}. Since weights
+ * are small, the edges are sorted with a counting sort instead of a comparator.
+ */
+final class EdgeList {
+  /**
+   * The weights of the edges are between 0 and this value, exclusive.
+   */
+  static final int MAX_WEIGHT = 300;
+  /**
+   * The most cells a board can have and still have all of its edges packed into an int.
+   */
+  static final int MAX_CELLS = Integer.MAX_VALUE >> 1;
+
+  private static final int MIN_CHUNK = 1 << 16;
+
+  private final int rows;
+  private final int cols;
+  private final boolean isWrapping;
+  private final int[] edges;
+
+  /**
+   * Generates all the edges that can possibly be used in the maze and sorts them by weight.
+   *
+   * @param rows       the rows in the maze
+   * @param cols       the cols in the maze
+   * @param isWrapping if the maze is wrapping, this allows for more edges.
+   * @param seed       the seed to draw the weights from
+   */
+  EdgeList(int rows, int cols, boolean isWrapping, long seed) {
+    this(rows, cols, isWrapping, seed, null);
+  }
+
+  /**
+   * Generates all the edges that can possibly be used in the maze and sorts them by weight. The
+   * weights are drawn from the seed in the same order for every maze, and edges of the same weight
+   * keep the order they were generated in, so a seed always gives the same order of edges. If a
+   * pool is given the sort is split across it, which gives the same order as sorting alone.
+   *
+   * @param rows       the rows in the maze
+   * @param cols       the cols in the maze
+   * @param isWrapping if the maze is wrapping, this allows for more edges.
+   * @param seed       the seed to draw the weights from
+   * @param pool       the pool to sort on, or null to sort in the calling thread
+   */
+  EdgeList(int rows, int cols, boolean isWrapping, long seed, ForkJoinPool pool) {
+    if ((long) rows * cols > MAX_CELLS) {
+      throw new IllegalArgumentException("The maze has too many rooms to be generated");
+    }
+    this.rows = rows;
+    this.cols = cols;
+    this.isWrapping = isWrapping;
+    int edgeCount = isWrapping ? 2 * rows * cols : (cols * (rows - 1)) + (rows * (cols - 1));
+
+    //draws the weights in the order the edges are generated in, this has to be done in order
+    Random rand = new Random(seed);
+    short[] weights = new short[edgeCount];
+    for (int i = 0; i < edgeCount; i++) {
+      weights[i] = (short) rand.nextInt(MAX_WEIGHT);
+    }
+
+    //counting sort, each chunk counts its own weights
+    int chunks = ChunkedTask.chunksFor(pool, edgeCount, MIN_CHUNK);
+    int[][] starts = new int[chunks][MAX_WEIGHT];
+    ChunkedTask.run(pool, chunks, chunk -> {
+      int[] counts = starts[chunk];
+      for (int i = chunkStart(chunk, chunks, edgeCount);
+           i < chunkStart(chunk + 1, chunks, edgeCount); i++) {
+        counts[weights[i]]++;
+      }
+    });
+
+    //finds where each weight starts in the sorted edges, earlier chunks go first to keep it stable
+    int total = 0;
+    for (int w = 0; w < MAX_WEIGHT; w++) {
+      for (int chunk = 0; chunk < chunks; chunk++) {
+        int count = starts[chunk][w];
+        starts[chunk][w] = total;
+        total += count;
+      }
+    }
+
+    this.edges = new int[edgeCount];
+    ChunkedTask.run(pool, chunks, chunk -> {
+      int[] next = starts[chunk];
+      for (int i = chunkStart(chunk, chunks, edgeCount);
+           i < chunkStart(chunk + 1, chunks, edgeCount); i++) {
+        this.edges[next[weights[i]]++] = this.generatedEdge(i);
+      }
+    });
+  }
+
+  /**
+   * Returns where a chunk starts when splitting a range into even chunks.
+   *
+   * @param chunk  the chunk
+   * @param chunks the amount of chunks
+   * @param length the length of the range
+   * @return the start of the chunk.
+   */
+  static int chunkStart(int chunk, int chunks, int length) {
+    return (int) ((long) chunk * length / chunks);
+  }
+
+  /**
+   * Returns the edge that is generated at the given place. All the south edges are generated first,
+   * then all the east edges. If the maze is wrapping the south edges of the last row then the east
+   * edges of the last column come at the end.
+   *
+   * @param index the place in the generated order
+   * @return the packed edge.
+   */
+  private int generatedEdge(int index) {
+    int southEdges = this.cols * (this.rows - 1);
+    if (index < southEdges) {
+      return pack(index, Direction.SOUTH);
+    }
+    index -= southEdges;
+    int eastEdges = this.rows * (this.cols - 1);
+    if (index < eastEdges) {
+      int row = index / (this.cols - 1);
+      return pack(row * this.cols + index % (this.cols - 1), Direction.EAST);
+    }
+    index -= eastEdges;
+    // if the maze is wrapping add Edges to the two left and bottom edges of the board back to
+    // the starting row
+    if (this.isWrapping && index < this.cols) {
+      return pack((this.rows - 1) * this.cols + index, Direction.SOUTH);
+    }
+    return pack((index - this.cols) * this.cols + this.cols - 1, Direction.EAST);
+  }
+
+  /**
+   * Packs an edge into an int.
+   *
+   * @param cell the index of the starting cell
+   * @param dir  the direction of the edge, either south or east
+   * @return the packed edge.
+   */
+  static int pack(int cell, Direction dir) {
+    return (cell << 1) | (dir == Direction.EAST ? 1 : 0);
+  }
+
+  /**
+   * Returns the index of the cell the edge starts at.
+   *
+   * @param edge the packed edge
+   * @return the starting cell.
+   */
+  static int start(int edge) {
+    return edge >>> 1;
+  }
+
+  /**
+   * Returns the index of the cell the edge ends at, wrapping around the board if needed.
+   *
+   * @param edge the packed edge
+   * @param rows the rows of the board
+   * @param cols the cols of the board
+   * @return the ending cell.
+   */
+  static int end(int edge, int rows, int cols) {
+    int cell = edge >>> 1;
+    if ((edge & 1) == 1) {
+      return cell % cols == cols - 1 ? cell - cols + 1 : cell + 1;
+    }
+    return cell / cols == rows - 1 ? cell % cols : cell + cols;
+  }
+
+  /**
+   * Returns the direction of the edge from its starting cell.
+   *
+   * @param edge the packed edge
+   * @return the direction of the edge.
+   */
+  static Direction direction(int edge) {
+    return (edge & 1) == 1 ? Direction.EAST : Direction.SOUTH;
+  }
+
+  /**
+   * Returns the amount of edges.
+   *
+   * @return the amount of edges.
+   */
+  int size() {
+    return this.edges.length;
+  }
+
+  /**
+   * Returns the packed edge at the given place in the sorted order.
+   *
+   * @param index the place in the sorted order
+   * @return the packed edge.
+   */
+  int get(int index) {
+    return this.edges[index];
+  }
+
+  /**
+   * Returns the index of the cell the edge ends at, on this list's board.
+   *
+   * @param edge the packed edge
+   * @return the ending cell.
+   */
+  int end(int edge) {
+    return end(edge, this.rows, this.cols);
+  }
+
+  /**
+   * Returns a copy of the sorted edges.
+   *
+   * @return the sorted edges.
+   */
+  int[] toArray() {
+    return this.edges.clone();
+  }
+
+}
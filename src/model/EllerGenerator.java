@@ -0,0 +1,182 @@
+package model;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generates perfect mazes one row at a time using Eller's algorithm, sending each row to a
+ * {@link RowSink} as soon as it is done. Only the current row and the sets its cells are in are
+ * kept, so the memory used depends on the cols of the maze and not on its rows. This allows mazes
+ * far too large to fit in memory to be generated for offline use. Streamed mazes do not wrap.
+ */
+public final class EllerGenerator {
+  private static final byte NORTH = (byte) (1 << Direction.NORTH.ordinal());
+  private static final byte SOUTH = (byte) (1 << Direction.SOUTH.ordinal());
+  private static final byte EAST = (byte) (1 << Direction.EAST.ordinal());
+  private static final byte WEST = (byte) (1 << Direction.WEST.ordinal());
+
+  private final int cols;
+  private final long seed;
+
+  /**
+   * Creates a generator for mazes with the given amount of cols.
+   *
+   * @param cols the cols in the maze
+   * @param seed the seed to generate from
+   */
+  public EllerGenerator(int cols, long seed) {
+    if (cols < 1) {
+      throw new IllegalArgumentException("The maze must have at least one col");
+    }
+    this.cols = cols;
+    this.seed = seed;
+  }
+
+  /**
+   * Generates a maze with the given amount of rows, sending each row to the sink in order. The same
+   * seed and size always gives the same maze.
+   *
+   * @param rows the rows in the maze
+   * @param sink where to send the rows
+   * @throws IOException if the sink could not take a row
+   */
+  public void generate(int rows, RowSink sink) throws IOException {
+    if (rows < 1 || (long) rows * this.cols < 2) {
+      throw new IllegalArgumentException("You must have a maze of more than 1 room");
+    }
+    if (sink == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    RandomBits rand = new RandomBits(this.seed);
+    //every cell in a row is in a set, numbered from 0 to cols
+    int[] sets = new int[this.cols];
+    //joins sets within the current row
+    int[] parent = new int[this.cols];
+    //the last cell of each set seen, and if the set has a cell going down yet
+    int[] lastMember = new int[this.cols];
+    boolean[] goesDown = new boolean[this.cols];
+    int[] renumbered = new int[this.cols];
+    byte[] current = new byte[this.cols];
+    byte[] next = new byte[this.cols];
+
+    for (int c = 0; c < this.cols; c++) {
+      sets[c] = c;
+    }
+    for (int r = 0; r < rows; r++) {
+      boolean lastRow = r == rows - 1;
+      for (int i = 0; i < this.cols; i++) {
+        parent[i] = i;
+      }
+
+      //joins neighboring cells in different sets, the last row joins all of them
+      for (int c = 0; c < this.cols - 1; c++) {
+        int leader = find(parent, sets[c]);
+        int eastLeader = find(parent, sets[c + 1]);
+        if (leader != eastLeader && (lastRow || rand.next())) {
+          parent[eastLeader] = leader;
+          current[c] |= EAST;
+          current[c + 1] |= WEST;
+        }
+      }
+
+      if (!lastRow) {
+        //picks cells to go down at random, and makes the last cell of a set go down if none of
+        //its cells did, so no set is cut off
+        Arrays.fill(goesDown, false);
+        for (int c = 0; c < this.cols; c++) {
+          int leader = find(parent, sets[c]);
+          sets[c] = leader;
+          lastMember[leader] = c;
+          if (rand.next()) {
+            current[c] |= SOUTH;
+            goesDown[leader] = true;
+          }
+        }
+        for (int c = 0; c < this.cols; c++) {
+          if (!goesDown[sets[c]] && lastMember[sets[c]] == c) {
+            current[c] |= SOUTH;
+          }
+        }
+
+        //cells going down keep their set in the next row, the rest start new sets
+        Arrays.fill(renumbered, -1);
+        int setCount = 0;
+        for (int c = 0; c < this.cols; c++) {
+          if ((current[c] & SOUTH) != 0) {
+            next[c] |= NORTH;
+            if (renumbered[sets[c]] < 0) {
+              renumbered[sets[c]] = setCount;
+              setCount++;
+            }
+            sets[c] = renumbered[sets[c]];
+          } else {
+            sets[c] = -1;
+          }
+        }
+        for (int c = 0; c < this.cols; c++) {
+          if (sets[c] < 0) {
+            sets[c] = setCount;
+            setCount++;
+          }
+        }
+      }
+
+      sink.acceptRow(r, current);
+      byte[] done = current;
+      current = next;
+      next = done;
+      Arrays.fill(next, (byte) 0);
+    }
+  }
+
+  /**
+   * Hands out random bits, drawing 64 of them at a time from the seeded random.
+   */
+  private static final class RandomBits {
+    private final Random rand;
+    private long bits;
+    private int bitsLeft;
+
+    /**
+     * Creates random bits from the given seed.
+     *
+     * @param seed the seed
+     */
+    private RandomBits(long seed) {
+      this.rand = new Random(seed);
+      this.bitsLeft = 0;
+    }
+
+    /**
+     * Returns the next random bit.
+     *
+     * @return the next random bit.
+     */
+    private boolean next() {
+      if (this.bitsLeft == 0) {
+        this.bits = this.rand.nextLong();
+        this.bitsLeft = 64;
+      }
+      boolean bit = (this.bits & 1) == 1;
+      this.bits >>>= 1;
+      this.bitsLeft--;
+      return bit;
+    }
+  }
+
+  /**
+   * Finds the leader of a set in the current row, halving the path along the way.
+   *
+   * @param parent the parents of the sets
+   * @param set    the set to find the leader of
+   * @return the leader.
+   */
+  private static int find(int[] parent, int set) {
+    while (parent[set] != set) {
+      parent[set] = parent[parent[set]];
+      set = parent[set];
+    }
+    return set;
+  }
+}
@@ -0,0 +1,32 @@
+package model;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Represents the different algorithms a maze can be generated with. Each gives mazes a different
+ * texture, and they differ in how fast they are on large mazes.
+ */
+public enum GeneratorType {
+  KRUSKAL, PRIM, BACKTRACKER, WILSON, ALDOUS_BRODER;
+
+  /**
+   * Creates the generator for this type.
+   *
+   * @param pool the pool to generate on if the generator supports it, or null for none
+   * @return the generator.
+   */
+  MazeGenerator create(ForkJoinPool pool) {
+    switch (this) {
+      case PRIM:
+        return new PrimGenerator();
+      case BACKTRACKER:
+        return new BacktrackerGenerator();
+      case WILSON:
+        return new WilsonGenerator();
+      case ALDOUS_BRODER:
+        return new AldousBroderGenerator();
+      default:
+        return new KruskalGenerator(pool);
+    }
+  }
+}
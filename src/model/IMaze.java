@@ -24,6 +24,15 @@ public interface IMaze {
    */
   void movePlayer(Direction direction);
 
+  /**
+   * Moves the player in the given direction if possible, like {@link #movePlayer(Direction)}, but
+   * says why not instead of throwing.
+   *
+   * @param direction the direction for the player to move
+   * @return OK if the player moved, or why not.
+   */
+  CommandStatus tryMove(Direction direction);
+
   /**
    * Moves a player to a position, as opposed to in a direction.
    *
@@ -45,6 +54,32 @@ public interface IMaze {
    */
   List<List<IReadableNode>> getNodes();
 
+  /**
+   * Returns the version of the maze. The version goes up every time a room changes, so it can be
+   * given to {@link #getChangedNodes(long)} later to find out what changed since.
+   *
+   * @return the current version.
+   */
+  long getVersion();
+
+  /**
+   * Returns copies of the rooms that changed after the given version, each room once, as they are
+   * now. If the version is too old for the maze to remember what changed, every room is returned.
+   *
+   * @param sinceVersion a version returned by {@link #getVersion()}
+   * @return the changed rooms.
+   * @throws IllegalArgumentException if the version is negative or has not happened yet
+   */
+  List<IReadableNode> getChangedNodes(long sinceVersion);
+
+  /**
+   * Returns a snapshot of the rooms as they are now. Unlike {@link #getNodes()} nothing is copied,
+   * and the snapshot keeps showing this version of the maze as the game goes on.
+   *
+   * @return the snapshot.
+   */
+  MazeSnapshot snapshot();
+
   /**
    * Returns whether or not the game is over. The game ends when the player either runs into the
    * wumpus, kills the wumpus, falls into a pit, or runs out of arrows.
@@ -60,6 +95,16 @@ public interface IMaze {
    */
   List<List<PlayerEffect>> getRecentEffects();
 
+  /**
+   * Get the recent effects experienced by one player. Only that player is looked at, so this stays
+   * fast with many players.
+   *
+   * @param playerNum the number of the player, starting at 1
+   * @return the player's recent effects
+   * @throws IllegalArgumentException if there is no player with that number
+   */
+  List<PlayerEffect> getRecentEffects(int playerNum);
+
   /**
    * Shoots an arrow in a specified direction. The arrow can curve through hallways, but travels
    * straight through rooms. The distance must be exact to kill the wumpus, too short or too long is
@@ -70,6 +115,27 @@ public interface IMaze {
    */
   void fireArrow(Direction dir, int distance);
 
+  /**
+   * Fires an arrow if possible, like {@link #fireArrow(Direction, int)}, but says why not instead of
+   * throwing.
+   *
+   * @param dir      the direction to shoot in
+   * @param distance the distance to shoot
+   * @return OK if the arrow was fired, or why not.
+   */
+  CommandStatus tryShoot(Direction dir, int distance);
+
+  /**
+   * Runs a batch of moves and shots in one call, in order, each by the player whose turn it is. A
+   * command the game can not take, such as a move into a wall, is not run and stops the batch.
+   * Nothing about the rooms is copied while the batch runs, so a batch is much cheaper than making
+   * each move and asking for the game after it.
+   *
+   * @param batch the commands to run
+   * @return a result for each command that was run, and for the one that stopped the batch.
+   */
+  List<CommandResult> apply(CommandBatch batch);
+
   /**
    * Returns the arrow amount for the current player.
    *
@@ -78,7 +144,9 @@ public interface IMaze {
   int getArrowAmount();
 
   /**
-   * Returns a maze the is the exact same as this one but as a fresh maze.
+   * Returns a maze the is the exact same as this one but as a fresh maze. The fresh maze is a new
+   * game on the same layout, which never changes, so the two share their rooms but keep their own
+   * players, turns and visited rooms. Both can still be played on their own.
    *
    * @return a new fresh maze that is the same as this one.
    */
@@ -91,5 +159,32 @@ public interface IMaze {
    */
   int playerNumTurn();
 
+  /**
+   * Returns the amount of players in the game.
+   *
+   * @return the amount of players.
+   */
+  int getPlayerCount();
+
+  /**
+   * Returns the numbers of the players in a room, from lowest to highest. This does not look at
+   * every player, so it stays fast with many players.
+   *
+   * @param position the room
+   * @return the players in the room.
+   * @throws IllegalArgumentException if the room is not in the maze
+   */
+  List<Integer> getPlayersAt(Position position);
+
+  /**
+   * Returns one room as the game sees it now. Only that room is looked at, so this is the cheap way
+   * to check a room every turn.
+   *
+   * @param position the room
+   * @return the room.
+   * @throws IllegalArgumentException if the room is not in the maze
+   */
+  IReadableNode getNode(Position position);
+
 
 }
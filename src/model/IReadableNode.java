@@ -34,6 +34,14 @@ public interface IReadableNode {
    */
   List<Direction> getConnectedDirs();
 
+  /**
+   * Returns the connected directions as a {@link DirectionSet}, which is not copied and can be
+   * searched without looking through a list.
+   *
+   * @return the connected directions.
+   */
+  DirectionSet getConnections();
+
   /**
    * Returns the position of the node.
    *
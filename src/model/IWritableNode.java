@@ -15,30 +15,6 @@ public interface IWritableNode extends IReadableNode {
    */
   void setConnectedDirection(Direction dir);
 
-  /**
-   * Sets if the player is in this node or not.
-   *
-   * @param contains whether or not this node will contain the player.
-   * @param playerNum which player number the node should contain.
-   */
-  void shouldIContainPlayer(boolean contains, int playerNum);
-
-
-  /**
-   * Sets the leader for the node. Used in generation of the maze, nodes that have leaders to each
-   * other are in the same set.
-   *
-   * @param node the node to be the leader.
-   */
-  void setLeader(IWritableNode node);
-
-  /**
-   * Finds the highest leader of the current node. Indicating the current set of the node.
-   *
-   * @return the set leader of the node.
-   */
-  IWritableNode findLeader();
-
   /**
    * Sets the node do a specific {@link RoomType}.
    *
@@ -46,11 +22,6 @@ public interface IWritableNode extends IReadableNode {
    */
   void setRoomType(RoomType roomType);
 
-  /**
-   * Tells this node that its been visited by the player.
-   */
-  void visit();
-
   /**
    * Adds an attribute to a node.
    *
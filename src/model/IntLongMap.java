@@ -0,0 +1,126 @@
+package model;
+
+/**
+ * Represents a map from non negative ints to longs, stored in two arrays with open addressing
+ * rather than as boxed entries. Used for indexes over the cells of large boards where only some of
+ * the cells have a value.
+ */
+final class IntLongMap {
+  //keys are stored plus one so zero can mean an empty slot
+  private int[] keys;
+  private long[] values;
+  private int size;
+
+  /**
+   * Creates an empty map.
+   */
+  IntLongMap() {
+    this.keys = new int[16];
+    this.values = new long[16];
+    this.size = 0;
+  }
+
+  /**
+   * Returns the amount of keys in the map.
+   *
+   * @return the size.
+   */
+  int size() {
+    return this.size;
+  }
+
+  /**
+   * Returns the value for a key.
+   *
+   * @param key          the key
+   * @param defaultValue the value to return if the key is not in the map
+   * @return the value.
+   */
+  long get(int key, long defaultValue) {
+    int mask = this.keys.length - 1;
+    for (int slot = this.slotOf(key); this.keys[slot] != 0; slot = (slot + 1) & mask) {
+      if (this.keys[slot] == key + 1) {
+        return this.values[slot];
+      }
+    }
+    return defaultValue;
+  }
+
+  /**
+   * Sets the value for a key.
+   *
+   * @param key   the key, cannot be negative or the largest int
+   * @param value the value
+   */
+  void put(int key, long value) {
+    if (key < 0 || key == Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Keys must be positive and less than the largest int");
+    }
+    int mask = this.keys.length - 1;
+    int slot = this.slotOf(key);
+    while (this.keys[slot] != 0 && this.keys[slot] != key + 1) {
+      slot = (slot + 1) & mask;
+    }
+    if (this.keys[slot] == 0) {
+      this.keys[slot] = key + 1;
+      this.size++;
+    }
+    this.values[slot] = value;
+    if (this.size * 2 > this.keys.length) {
+      this.grow();
+    }
+  }
+
+  /**
+   * Removes a key from the map, if it is there.
+   *
+   * @param key the key
+   */
+  void remove(int key) {
+    int mask = this.keys.length - 1;
+    int hole = this.slotOf(key);
+    while (this.keys[hole] != key + 1) {
+      if (this.keys[hole] == 0) {
+        return;
+      }
+      hole = (hole + 1) & mask;
+    }
+    //later keys that would be cut off from where they start looking are moved back into the hole
+    for (int slot = (hole + 1) & mask; this.keys[slot] != 0; slot = (slot + 1) & mask) {
+      int home = this.slotOf(this.keys[slot] - 1);
+      if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+        this.keys[hole] = this.keys[slot];
+        this.values[hole] = this.values[slot];
+        hole = slot;
+      }
+    }
+    this.keys[hole] = 0;
+    this.size--;
+  }
+
+  /**
+   * Returns the slot a key starts looking from.
+   *
+   * @param key the key
+   * @return the slot.
+   */
+  private int slotOf(int key) {
+    return ((key + 1) * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(this.keys.length));
+  }
+
+  /**
+   * Doubles the size of the map.
+   */
+  private void grow() {
+    int[] oldKeys = this.keys;
+    long[] oldValues = this.values;
+    this.keys = new int[oldKeys.length * 2];
+    this.values = new long[oldValues.length * 2];
+    this.size = 0;
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != 0) {
+        this.put(oldKeys[i] - 1, oldValues[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,177 @@
+package model;
+
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Generates the edges of a maze using randomized Kruskal's algorithm. Every possible edge is given a
+ * random weight from the seed, then edges are taken in order of weight as long as they join two
+ * separate sets, until every room is connected. Non perfect mazes then take the skipped edges in
+ * the same order until they have enough.
+ *
+ * <p>If given a pool the generator runs Filter-Kruskal: the sorted edges are taken in segments,
+ * and after each segment the edges left over are filtered across the pool to drop the ones that
+ * already join the same set. Those edges would have been skipped anyway, so the maze is exactly the
+ * same as generating without a pool.
+ */
+final class KruskalGenerator implements MazeGenerator {
+  private static final int MIN_SEGMENT = 1 << 12;
+  private static final int MIN_CHUNK = 1 << 14;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates a generator that runs in the calling thread.
+   */
+  KruskalGenerator() {
+    this(null);
+  }
+
+  /**
+   * Creates a generator that splits its work across the given pool.
+   *
+   * @param pool the pool to run on, or null to run in the calling thread
+   */
+  KruskalGenerator(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  @Override
+  public int[] generate(int rows, int cols, boolean isWrapping, int edgesNeeded, long seed) {
+    EdgeList edgeWorkList = new EdgeList(rows, cols, isWrapping, seed, this.pool);
+    int treeSize = (rows * cols) - 1;
+    if (this.pool == null) {
+      return this.chooseEdges(edgeWorkList, treeSize, edgesNeeded, rows, cols);
+    }
+    return this.chooseEdgesFiltered(edgeWorkList, treeSize, edgesNeeded, rows, cols);
+  }
+
+  /**
+   * Chooses the edges in the calling thread. The sorted edge list is walked with a cursor rather
+   * than consumed from the front, so each edge is only looked at once.
+   *
+   * @param edgeWorkList the sorted edges
+   * @param treeSize     the amount of edges needed to connect every room
+   * @param edgesNeeded  the amount of edges this maze needs
+   * @param rows         the rows in the maze
+   * @param cols         the cols in the maze
+   * @return the chosen edges.
+   */
+  private int[] chooseEdges(EdgeList edgeWorkList, int treeSize, int edgesNeeded,
+                            int rows, int cols) {
+    int[] chosenEdges = new int[edgesNeeded];
+    int chosen = 0;
+    int[] discardedEdges = new int[edgeWorkList.size() - treeSize];
+    int discarded = 0;
+    DisjointSet sets = new DisjointSet(rows, cols);
+    int cursor = 0;
+    while (chosen < treeSize) {
+      int curEdge = edgeWorkList.get(cursor);
+      cursor++;
+      if (sets.union(EdgeList.start(curEdge), edgeWorkList.end(curEdge))) {
+        chosenEdges[chosen] = curEdge;
+        chosen++;
+      } else {
+        discardedEdges[discarded] = curEdge;
+        discarded++;
+      }
+    }
+    //extra edges are taken from the discarded edges first, then the edges never looked at
+    for (int i = 0; i < discarded && chosen < edgesNeeded; i++) {
+      chosenEdges[chosen] = discardedEdges[i];
+      chosen++;
+    }
+    while (chosen < edgesNeeded) {
+      chosenEdges[chosen] = edgeWorkList.get(cursor);
+      chosen++;
+      cursor++;
+    }
+    return chosenEdges;
+  }
+
+  /**
+   * Chooses the edges using Filter-Kruskal across the pool.
+   *
+   * @param edgeWorkList the sorted edges
+   * @param treeSize     the amount of edges needed to connect every room
+   * @param edgesNeeded  the amount of edges this maze needs
+   * @param rows         the rows in the maze
+   * @param cols         the cols in the maze
+   * @return the chosen edges.
+   */
+  private int[] chooseEdgesFiltered(EdgeList edgeWorkList, int treeSize, int edgesNeeded,
+                                    int rows, int cols) {
+    int[] chosenEdges = new int[edgesNeeded];
+    int chosen = 0;
+    BitSet inTree = new BitSet(2 * rows * cols);
+    DisjointSet sets = new DisjointSet(rows, cols);
+    int[] candidates = edgeWorkList.toArray();
+    int candidateCount = candidates.length;
+
+    while (chosen < treeSize) {
+      int segmentEnd = Math.min(candidateCount, Math.max(MIN_SEGMENT, treeSize - chosen));
+      for (int i = 0; i < segmentEnd && chosen < treeSize; i++) {
+        int curEdge = candidates[i];
+        if (sets.union(EdgeList.start(curEdge), edgeWorkList.end(curEdge))) {
+          chosenEdges[chosen] = curEdge;
+          chosen++;
+          inTree.set(curEdge);
+        }
+      }
+      if (chosen < treeSize) {
+        candidateCount = this.filter(candidates, segmentEnd, candidateCount, sets, rows, cols);
+      }
+    }
+
+    //the extra edges are every edge not in the tree, in sorted order
+    for (int i = 0; chosen < edgesNeeded; i++) {
+      int curEdge = edgeWorkList.get(i);
+      if (!inTree.get(curEdge)) {
+        chosenEdges[chosen] = curEdge;
+        chosen++;
+      }
+    }
+    return chosenEdges;
+  }
+
+  /**
+   * Drops the candidates that join cells already in the same set, keeping the rest in order. The
+   * candidates from the given start are split into chunks that are filtered across the pool, then
+   * the kept edges are moved down to the front of the array.
+   *
+   * @param candidates the candidate edges
+   * @param from       the first candidate to filter
+   * @param to         the end of the candidates, exclusive
+   * @param sets       the sets the cells are in
+   * @param rows       the rows in the maze
+   * @param cols       the cols in the maze
+   * @return the amount of candidates kept.
+   */
+  private int filter(int[] candidates, int from, int to, DisjointSet sets, int rows, int cols) {
+    int length = to - from;
+    int chunks = ChunkedTask.chunksFor(this.pool, length, MIN_CHUNK);
+    int[] kept = new int[chunks];
+    ChunkedTask.run(this.pool, chunks, chunk -> {
+      int write = from + EdgeList.chunkStart(chunk, chunks, length);
+      int end = from + EdgeList.chunkStart(chunk + 1, chunks, length);
+      int start = write;
+      for (int i = start; i < end; i++) {
+        int curEdge = candidates[i];
+        if (!sets.sameSet(EdgeList.start(curEdge), EdgeList.end(curEdge, rows, cols))) {
+          candidates[write] = curEdge;
+          write++;
+        }
+      }
+      kept[chunk] = write - start;
+    });
+
+    int candidateCount = 0;
+    for (int chunk = 0; chunk < chunks; chunk++) {
+      System.arraycopy(candidates, from + EdgeList.chunkStart(chunk, chunks, length),
+              candidates, candidateCount, kept[chunk]);
+      candidateCount += kept[chunk];
+    }
+    return candidateCount;
+  }
+
+}
@@ -0,0 +1,251 @@
+package model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A packed board that keeps its rooms in a memory mapped file instead of on the heap, so a maze can
+ * be larger than the heap and can be opened again later without being generated again.
+ *
+ * <p>The file starts with a header holding the seed and the settings the maze was made with,
+ * followed by two bytes per room. The first byte holds the connection mask in its low 4 bits, the
+ * second holds the room type ordinal in its low 3 bits and the attribute mask in the 4 bits above.
+ * Boards that are opened again map the file read only, so the pages are shared between every
+ * process that opens it.
+ *
+ * <p>A new board is built in a temporary file next to its file, and only renamed over it once the
+ * maze has been generated. A layout still using a maze that was saved to the same file keeps its
+ * rooms, and a maze that was never finished never takes the file's place. If generating fails the
+ * temporary file is deleted.
+ */
+final class MappedBoard extends PackedBoard {
+  private static final int MAGIC = 0x57554d50;
+  private static final int VERSION = 1;
+  private static final int SETTINGS = 12;
+  private static final int HEADER_BYTES = 64;
+  //a single mapping cannot be over 2GB so large boards are split into 1GB segments
+  private static final int SEGMENT_BITS = 30;
+  private static final int SEGMENT_MASK = (1 << SEGMENT_BITS) - 1;
+  private static final int ROOM_TYPE_MASK = 0x07;
+  private static final int ATTRIBUTE_SHIFT = 3;
+
+  private final MappedByteBuffer header;
+  private final MappedByteBuffer[] segments;
+  //where a new board goes once it is generated, and the file it is built in until then, or null
+  private final Path file;
+  private final Path temp;
+
+  /**
+   * Maps the header and the rooms of a file.
+   *
+   * @param channel the open file
+   * @param mode    how to map the file
+   * @param rows    the rows on the board
+   * @param cols    the cols on the board
+   * @param file    the file a new board is saved to, or null for a board that was opened
+   * @param temp    the file a new board is built in, or null for a board that was opened
+   * @throws IOException if the file could not be mapped
+   */
+  private MappedBoard(FileChannel channel, FileChannel.MapMode mode, int rows, int cols,
+                      Path file, Path temp) throws IOException {
+    super(rows, cols);
+    this.file = file;
+    this.temp = temp;
+    this.header = channel.map(mode, 0, HEADER_BYTES);
+    long bytes = 2L * rows * cols;
+    this.segments = new MappedByteBuffer[(int) ((bytes + SEGMENT_MASK) >>> SEGMENT_BITS)];
+    for (int i = 0; i < this.segments.length; i++) {
+      long start = (long) i << SEGMENT_BITS;
+      this.segments[i] = channel.map(mode, HEADER_BYTES + start,
+              Math.min(bytes - start, 1L << SEGMENT_BITS));
+    }
+  }
+
+  /**
+   * Creates a board of empty rooms to be saved to the given file. Anything already in the file is
+   * replaced once the maze is generated, until then the file is left alone.
+   *
+   * @param file the file to store the board in
+   * @param rows the rows on the board
+   * @param cols the cols on the board
+   * @return the board.
+   * @throws IOException if the file could not be written
+   */
+  static MappedBoard create(Path file, int rows, int cols) throws IOException {
+    Path target = file.toAbsolutePath();
+    //in the same folder so it can be renamed over the file in one step
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      MappedBoard board = new MappedBoard(channel, FileChannel.MapMode.READ_WRITE, rows, cols,
+              target, temp);
+      for (int cell = 0; cell < rows * cols; cell++) {
+        board.setRoomType(cell, RoomType.EMPTY.ordinal());
+      }
+      return board;
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+  }
+
+  /**
+   * Returns a factory that creates boards in the given file.
+   *
+   * @param file the file to store the board in
+   * @return the factory.
+   */
+  static MazeBoard.Factory factory(Path file) {
+    return (rows, cols) -> {
+      try {
+        return create(file, rows, cols);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    };
+  }
+
+  /**
+   * Opens a board that was saved to a file. The file is mapped read only, so the board cannot be
+   * changed.
+   *
+   * @param file the file the board was saved in
+   * @return the board.
+   * @throws IOException if the file could not be read
+   */
+  static MappedBoard open(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() < HEADER_BYTES) {
+        throw new IllegalArgumentException("The file is not a saved maze");
+      }
+      MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES);
+      if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+        throw new IllegalArgumentException("The file is not a saved maze");
+      }
+      int rows = header.getInt(16);
+      int cols = header.getInt(20);
+      if (rows < 1 || cols < 1 || channel.size() < HEADER_BYTES + 2L * rows * cols) {
+        throw new IllegalArgumentException("The saved maze is incomplete");
+      }
+      return new MappedBoard(channel, FileChannel.MapMode.READ_ONLY, rows, cols, null, null);
+    }
+  }
+
+  @Override
+  public void generated(long seed, int[] settings) {
+    this.header.putLong(8, seed);
+    for (int i = 0; i < SETTINGS; i++) {
+      this.header.putInt(16 + 4 * i, settings[i]);
+    }
+    this.header.putInt(4, VERSION);
+    for (MappedByteBuffer segment : this.segments) {
+      segment.force();
+    }
+    //the magic number goes in last so a file that was cut short is never opened
+    this.header.putInt(0, MAGIC);
+    this.header.force();
+    //a layout mapping the old file keeps it, the rename only changes what the name points to
+    try {
+      Files.move(this.temp, this.file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Deletes the file the board was being built in, since it will never be finished.
+   */
+  @Override
+  public void abandoned() {
+    if (this.temp == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(this.temp);
+    } catch (IOException e) {
+      //the maze failed anyway, a leftover temporary file is not worth hiding that for
+    }
+  }
+
+  /**
+   * Returns the seed the saved maze was made with.
+   *
+   * @return the seed.
+   */
+  long getSeed() {
+    return this.header.getLong(8);
+  }
+
+  /**
+   * Returns the settings the saved maze was made with.
+   *
+   * @return the settings.
+   */
+  int[] getSettings() {
+    int[] settings = new int[SETTINGS];
+    for (int i = 0; i < SETTINGS; i++) {
+      settings[i] = this.header.getInt(16 + 4 * i);
+    }
+    return settings;
+  }
+
+  /**
+   * Reads one of the two bytes of a room.
+   *
+   * @param cell  the index of the room
+   * @param which 0 for the first byte, 1 for the second
+   * @return the byte.
+   */
+  private int get(int cell, int which) {
+    long pos = 2L * cell + which;
+    return this.segments[(int) (pos >>> SEGMENT_BITS)].get((int) (pos & SEGMENT_MASK)) & 0xff;
+  }
+
+  /**
+   * Writes one of the two bytes of a room.
+   *
+   * @param cell  the index of the room
+   * @param which 0 for the first byte, 1 for the second
+   * @param value the byte
+   */
+  private void put(int cell, int which, int value) {
+    long pos = 2L * cell + which;
+    this.segments[(int) (pos >>> SEGMENT_BITS)].put((int) (pos & SEGMENT_MASK), (byte) value);
+  }
+
+  @Override
+  int connections(int cell) {
+    return this.get(cell, 0);
+  }
+
+  @Override
+  void setConnections(int cell, int connections) {
+    this.put(cell, 0, connections);
+  }
+
+  @Override
+  int roomType(int cell) {
+    return this.get(cell, 1) & ROOM_TYPE_MASK;
+  }
+
+  @Override
+  void setRoomType(int cell, int roomType) {
+    this.put(cell, 1, (this.get(cell, 1) & ~ROOM_TYPE_MASK) | roomType);
+  }
+
+  @Override
+  int attributes(int cell) {
+    return this.get(cell, 1) >>> ATTRIBUTE_SHIFT;
+  }
+
+  @Override
+  void setAttributes(int cell, int attributes) {
+    this.put(cell, 1, (this.get(cell, 1) & ROOM_TYPE_MASK) | (attributes << ATTRIBUTE_SHIFT));
+  }
+}
@@ -1,25 +1,46 @@
 package model;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.Random;
 
 /**
  * Represents a maze of {@link IReadableNode}. There is a starting and ending point, as well as a
  * player that can traverse the maze from the start to the end. Mazes can either wrap(connect on the
  * edges of the map) or not. They can also be a perfect maze(minimum spanning tree) or not.
+ *
+ * <p>A maze is one game played on a {@link MazeLayout}. The layout is never changed by playing, the
+ * maze only keeps what its players have done: where they are, their arrows, whose turn it is and
+ * which rooms have been visited. Many mazes can share the same layout.
  */
 public class Maze implements IMaze {
+  private static final Direction[] DIRECTIONS = Direction.values();
+  //how many changed rooms are remembered, a power of two
+  private static final int CHANGE_LOG_SIZE = 1 << 10;
 
-  private final IWritableNode[][] board;
-  private final List<IEdge> edges;
+  private final MazeLayout layout;
   private final Player[] players;
+  //who is in each room, so a room does not have to look through every player
+  private final Occupancy occupancy;
   private int turn;
-  private final long seed;
-  private final int[] restartParams;
+  //the players still playing as a ring in turn order, indexed by player number minus one
+  private final int[] nextTurn;
+  private final int[] previousTurn;
+  //kept up to date as effects are given out, so checking if the game is over is a field read
+  private int playersOut;
+  private boolean wumpusShot;
+  private BitSet visited;
+  //the last snapshot taken, which shares the visited rooms until the next room is visited
+  private MazeSnapshot snapshot;
+  //the rooms that changed, as a ring indexed by version
+  private final int[] changes;
+  private long version;
 
 
   /**
@@ -53,8 +74,7 @@ public class Maze implements IMaze {
    */
   public Maze(int rows, int cols, boolean isWrapping,
               int sRow, int sCol, int gRow, int gCol, long seed) {
-    this(rows, cols, isWrapping ? (rows * cols) + 1
-                    : ((cols * (rows - 1)) + (rows * (cols - 1))) - (rows * cols) + 1,
+    this(rows, cols, perfectWallsRemaining(rows, cols, isWrapping),
             isWrapping, sRow, sCol, gRow, gCol, seed);
   }
 
@@ -110,8 +130,7 @@ public class Maze implements IMaze {
   public Maze(int rows, int cols, boolean isWrapping,
               int sRow, int sCol, int gRow, int gCol,
               int percentBats, int percentPits, long seed, int arrowCount) {
-    this(rows, cols, isWrapping ? (rows * cols) + 1
-                    : ((cols * (rows - 1)) + (rows * (cols - 1))) - (rows * cols) + 1,
+    this(rows, cols, perfectWallsRemaining(rows, cols, isWrapping),
             isWrapping, sRow, sCol, gRow, gCol, percentBats, percentPits, seed, arrowCount);
 
   }
@@ -135,8 +154,7 @@ public class Maze implements IMaze {
   public Maze(int rows, int cols, boolean isWrapping,
               int sRow, int sCol, int gRow, int gCol,
               int percentBats, int percentPits, long seed, int arrowCount, int playerCount) {
-    this(rows, cols, isWrapping ? (rows * cols) + 1
-                    : ((cols * (rows - 1)) + (rows * (cols - 1))) - (rows * cols) + 1,
+    this(rows, cols, perfectWallsRemaining(rows, cols, isWrapping),
             isWrapping, sRow, sCol, gRow, gCol, percentBats, percentPits, seed, arrowCount,
             playerCount);
 
@@ -186,290 +204,192 @@ public class Maze implements IMaze {
   public Maze(int rows, int cols, int wallsRemaining, boolean isWrapping,
               int sRow, int sCol, int gRow, int gCol,
               int percentBats, int percentPits, long seed, int arrowCount, int players) {
-    if (rows < 1 || cols < 1 || rows + cols == 2) {
-      throw new IllegalArgumentException("You must have a maze of more than 1 room");
-    }
-    if (sRow >= rows || sRow < 0 || sCol >= cols || sCol < 0
-            || gRow >= rows || gRow < 0 || gCol >= cols || gCol < 0) {
-      throw new IllegalArgumentException("Start and end must be on the maze board");
-    }
-    if (sRow == gRow && sCol == gCol) {
-      throw new IllegalArgumentException("Start and goal cannot be the same");
-    }
-    if (percentBats < 0 || percentPits < 0 || percentBats > 100 || percentPits > 100) {
-      throw new IllegalArgumentException("Bat and Pit percentages must be valid percentage values");
-    }
-    if (arrowCount < 1) {
-      throw new IllegalArgumentException("A player must have a positive amount of arrows");
-    }
-    if (players <= 0 || players > 2) {
-      throw new IllegalArgumentException("Currently only supports 1 or 2 players");
-    }
-    this.restartParams =
-            new int[]{rows, cols, wallsRemaining, isWrapping ? 1 : 0, sRow, sCol,
-              gRow, gCol, percentBats, percentPits, arrowCount, players};
-    this.board = new IWritableNode[rows][cols];
-    this.edges = new ArrayList<>();
-    int totalWalls;
-    if (isWrapping) {
-      totalWalls = 2 * (cols * rows);
-    } else {
-      totalWalls = (cols * (rows - 1)) + (rows * (cols - 1));
-    }
-    int egdesNeeded = totalWalls - wallsRemaining;
-    if (egdesNeeded < (cols * rows) - 1) {
-      throw new IllegalArgumentException("There are two many walls remaining " +
-              "for the maze to be completable");
-    }
-
-    //Generates the graph of nodes building pieces
-    this.generateNodes();
-    List<IEdge> edgeWorkList = this.generateEdgeList(isWrapping, seed);
-    //Assigns edges to connect the graph
-    this.assignEdges(edgeWorkList, egdesNeeded);
-
-    //Sets start and End
-    this.board[sRow][sCol].setRoomType(RoomType.START);
-    this.board[sRow][sCol].visit();
-    this.board[gRow][gCol].setRoomType(RoomType.WUMPUS);
-
-    //Converts rooms with two exits to hallways
-    this.convertToHallways();
-
-    //adds special room types
-    this.assignRoomTypeToMaze(RoomType.SUPERBAT, percentBats, seed);
-    this.assignRoomTypeToMaze(RoomType.PIT, percentPits, seed);
-
-    //gives warning to special's neighbors
-    this.applyAttributesToNeighbors();
-
-    this.players = new Player[players];
-
-    //rest of maze data
-
-    Player player1 = new Player(sRow, sCol, arrowCount, 1);
-    Player player2 = new Player(sRow, sCol, arrowCount, 2);
-    this.players[0] = player1;
-    if (players == 2) {
-
-      this.players[1] = player2;
-      this.board[sRow][sCol].shouldIContainPlayer(true, 2);
-    }
-
-    this.board[sRow][sCol].shouldIContainPlayer(true, 1);
-    this.seed = seed;
-    this.turn = 1;
-
-
+    this(rows, cols, wallsRemaining, isWrapping, sRow, sCol, gRow, gCol, percentBats,
+            percentPits, seed, arrowCount, players, new KruskalGenerator(), NodeBoard::new);
   }
 
   /**
-   * This takes the given edge list and assigns them to the vertex. It looks to fist make sure every
-   * node is connected, then it adds more edges in to meet the amount needed as the user specified.
+   * Generates a Maze using a given seed and generator.
    *
-   * @param edgeWorkList the list of all possible edges
-   * @param egdesNeeded  the amount of edges this maze needs
+   * @param rows           the rows in the maze
+   * @param cols           the cols in the maze
+   * @param wallsRemaining the walls remaining when the maze is built
+   * @param isWrapping     whether or not the maze wraps.
+   * @param sRow           the starting point row
+   * @param sCol           the starting point col
+   * @param gRow           the goal row
+   * @param gCol           the goal col
+   * @param seed           the seed for the maze to build its edges from
+   * @param arrowCount     the number of arrows the player gets
+   * @param players        the amount of players
+   * @param percentBats    the percentage of nodes with bats
+   * @param percentPits    the percentage of nodes with pits
+   * @param generator      the generator that chooses the edges of the maze
+   * @param boardFactory   makes the board the rooms are stored on
    */
-  private void assignEdges(List<IEdge> edgeWorkList, int egdesNeeded) {
-    List<IEdge> discardedEdges = new ArrayList<>();
-    while (this.edges.size() < (this.board.length * this.board[0].length) - 1) {
-      IEdge curEdge = edgeWorkList.get(0);
-      if (curEdge.areNodesConnected()) {
-        discardedEdges.add(edgeWorkList.remove(0));
-      } else {
-        this.edges.add(edgeWorkList.remove(0));
-        egdesNeeded--;
-        curEdge.unionNodes();
-      }
-    }
-    discardedEdges.addAll(edgeWorkList);
-    while (egdesNeeded > 0) {
-      this.edges.add(discardedEdges.remove(0));
-      egdesNeeded--;
-    }
-    for (IEdge edge : this.edges) {
-      edge.assignMySelf();
-    }
-
+  Maze(int rows, int cols, int wallsRemaining, boolean isWrapping,
+       int sRow, int sCol, int gRow, int gCol,
+       int percentBats, int percentPits, long seed, int arrowCount, int players,
+       MazeGenerator generator, MazeBoard.Factory boardFactory) {
+    this(new MazeLayout(rows, cols, wallsRemaining, isWrapping, sRow, sCol, gRow, gCol,
+            percentBats, percentPits, seed, arrowCount, players, generator, boardFactory));
   }
 
   /**
-   * Generates the nodes that will make up the board.
+   * Starts a new game on a layout, with every player at the start.
+   *
+   * @param layout the layout to play on
    */
-  private void generateNodes() {
-
-    for (int r = 0; r < this.board.length; r++) {
-      for (int c = 0; c < this.board[r].length; c++) {
-        this.board[r][c] = new WritableNode(r, c);
-      }
-    }
+  Maze(MazeLayout layout) {
+    this.layout = layout;
+    //sized up front so marking rooms as visited while moving never has to grow it
+    this.visited = new BitSet(layout.getRows() * layout.getCols());
+    int start = layout.getStart();
+    this.visited.set(start);
+    this.players = new Player[layout.getPlayerCount()];
+    this.nextTurn = new int[this.players.length];
+    this.previousTurn = new int[this.players.length];
+    for (int i = 0; i < this.players.length; i++) {
+      this.players[i] = new Player(start, layout.getArrowCount(), i + 1);
+      this.nextTurn[i] = (i + 1) % this.players.length;
+      this.previousTurn[i] = (i + this.players.length - 1) % this.players.length;
+    }
+    this.occupancy = new Occupancy(this.players.length, start);
+    this.turn = 1;
+    this.playersOut = 0;
+    this.wumpusShot = false;
+    this.changes = new int[CHANGE_LOG_SIZE];
+    this.version = 0;
+    this.snapshot = null;
   }
 
   /**
-   * Generates all the edges that can possibly be used in the maze.
+   * Opens a maze that was saved to a file with {@link MazeBuilder#setStorageFile}, see
+   * {@link MazeLayout#open}.
    *
-   * @param isWrapping if the maze is wrapping, this allows for more edges.
-   * @return all the possible edges in the maze.
+   * @param file the file the maze was saved in
+   * @return the maze.
+   * @throws IOException if the file could not be read
    */
-  private List<IEdge> generateEdgeList(boolean isWrapping, long seed) {
-
-    Random rand = new Random(seed);
-    List<IEdge> edgeWorkList = new ArrayList<>();
-    for (int r = 0; r < this.board.length - 1; r++) {
-      for (int c = 0; c < this.board[r].length; c++) {
-        IEdge edge = new Edge(rand.nextInt(300), this.board[r][c],
-                this.board[r + 1][c], Direction.SOUTH);
-        edgeWorkList.add(edge);
-      }
-    }
-
-    for (int r = 0; r < this.board.length; r++) {
-      for (int c = 0; c < this.board[r].length - 1; c++) {
-        IEdge edge = new Edge(rand.nextInt(300), this.board[r][c],
-                this.board[r][c + 1], Direction.EAST);
-
-        edgeWorkList.add(edge);
-      }
-    }
-
-    // if the maze is wrapping add Edges to the two left and bottom edges of the board back to
-    // the starting row
-    if (isWrapping) {
-      int maxRow = this.board.length - 1;
-      int maxCol = this.board[maxRow].length - 1;
-      for (int c = 0; c < this.board[maxRow].length; c++) {
-        IEdge edge = new Edge(rand.nextInt(300), this.board[maxRow][c],
-                this.board[0][c], Direction.SOUTH);
-        edgeWorkList.add(edge);
-      }
-      for (int r = 0; r < this.board.length; r++) {
-        IEdge edge = new Edge(rand.nextInt(300), this.board[r][maxCol],
-                this.board[r][0], Direction.EAST);
-        edgeWorkList.add(edge);
-      }
-    }
-
-    //sort edges so that they will be selected in random orders to be placed into the maze
-    edgeWorkList.sort(Comparator.comparingInt(IEdge::getWeight));
-
-    return edgeWorkList;
-
+  public static IMaze open(Path file) throws IOException {
+    return MazeLayout.open(file).newGame();
   }
 
   /**
-   * Takes nodes that have two connections and turns them into hallways. One connected rooms are NOT
-   * turned to hallways, this allows dead ends to be rooms.
+   * Returns the amount of walls that are left in a perfect maze of the given size.
+   *
+   * @param rows       the rows in the maze
+   * @param cols       the cols in the maze
+   * @param isWrapping whether or not the maze wraps.
+   * @return the walls remaining in a perfect maze.
    */
-  private void convertToHallways() {
-    for (int r = 0; r < this.board.length; r++) {
-      for (int c = 0; c < this.board[r].length; c++) {
-        if (this.board[r][c].getRoomType() == RoomType.EMPTY && this.board[r][c]
-                .getConnectedDirs().size() == 2) {
-          this.board[r][c].setRoomType(RoomType.HALLWAY);
-
-        }
-      }
-    }
+  static int perfectWallsRemaining(int rows, int cols, boolean isWrapping) {
+    return isWrapping ? (rows * cols) + 1
+            : ((cols * (rows - 1)) + (rows * (cols - 1))) - (rows * cols) + 1;
   }
 
   /**
-   * Looks for special rooms, then once found it finds connect rooms, hallways do not count, and
-   * gives them the hint attributes that correspond to the special rooms, like smelling the wumpus.
+   * Returns the position of the room with the given index.
+   *
+   * @param cell the index of the room
+   * @return the position of the room.
    */
-  private void applyAttributesToNeighbors() {
-    for (int r = 0; r < this.board.length; r++) {
-      for (int c = 0; c < this.board[r].length; c++) {
-        switch (this.board[r][c].getRoomType()) {
-          case WUMPUS:
-            for (IWritableNode node : this.getConnectedRooms(this.board[r][c])) {
-              node.addAttribute(RoomAttribute.NEXT_TO_WUMPUS);
-            }
-            break;
-          case PIT:
-          case SUPERBAT_AND_PIT:
-            for (IWritableNode node : this.getConnectedRooms(this.board[r][c])) {
-              node.addAttribute(RoomAttribute.NEXT_TO_PIT);
-            }
-            break;
-          default:
-            //neighbors of other room types get nothing.
-        }
-
-
-      }
-    }
+  private Position positionOf(int cell) {
+    return new Position(cell / this.layout.getCols(), cell % this.layout.getCols());
   }
 
   /**
-   * Used to assign different {@link RoomType}s to the maze. Will attempt to assign the amount
-   * specified by the weight. However it will not overwrite other rooms so it may not be able to
-   * make as many as the weight specifies.
+   * Records that a room changed, moving the maze on to the next version.
    *
-   * @param roomType         the type of room
-   * @param weightPercentage the amount of rooms this maze should contain in percentage value
-   * @param seed             the seed for the random class.
+   * @param cell the index of the room
    */
-  private void assignRoomTypeToMaze(RoomType roomType, int weightPercentage, long seed) {
-    List<IWritableNode> nodes;
-    int totalNodeAmount = (this.board.length * this.board[0].length);
-    double workingWeight = 1.0 / ((double) weightPercentage / 100);
-    int roomsNeeded = totalNodeAmount / (int) workingWeight;
-    nodes = this.getWriteableNodes();
-    Collections.shuffle(nodes, new Random(seed * roomType.ordinal()));
-
-    while (roomsNeeded > 0 && nodes.size() > 0) {
-      IWritableNode node = nodes.remove(0);
-      if (node.getRoomType() == RoomType.EMPTY) {
-        node.setRoomType(roomType);
-        roomsNeeded--;
-      } else if (node.getRoomType() == roomType.getCounterPart()) {
-        node.setRoomType(RoomType.SUPERBAT_AND_PIT);
-        roomsNeeded--;
-      }
-    }
+  private void changed(int cell) {
+    this.changes[(int) (this.version & (CHANGE_LOG_SIZE - 1))] = cell;
+    this.version++;
   }
 
   /**
-   * Takes a given node and returns a list of rooms that are connected, hallways do not count.
+   * Marks a room as visited. If the visited rooms are shared with a snapshot they are copied
+   * first, so the snapshot never changes.
    *
-   * @param node the node to find connections from
-   * @return the connected rooms
+   * @param cell the index of the room
    */
-  private List<IWritableNode> getConnectedRooms(IWritableNode node) {
-    List<IWritableNode> connectedRooms = new ArrayList<>();
-    for (Direction dir : node.getConnectedDirs()) {
-      connectedRooms.add(this.getConnectedNodeHelp(
-              this.handleWrap(this.updatePosFromDirection(node.getPosition(), dir)), dir));
+  private void visit(int cell) {
+    if (this.snapshot != null) {
+      this.visited = (BitSet) this.visited.clone();
+      this.snapshot = null;
+    }
+    this.visited.set(cell);
+  }
 
+  @Override
+  public MazeSnapshot snapshot() {
+    //the rooms only change when the version does, so the last snapshot can be handed out again
+    if (this.snapshot == null || this.snapshot.getVersion() != this.version) {
+      int[] playerCells = new int[this.players.length];
+      for (int i = 0; i < playerCells.length; i++) {
+        playerCells[i] = this.players[i].getCell();
+      }
+      this.snapshot = new MazeSnapshot(this.layout, this.visited, playerCells, this.version);
     }
+    return this.snapshot;
+  }
+
+  @Override
+  public long getVersion() {
+    return this.version;
+  }
 
-    return connectedRooms;
+  @Override
+  public List<IReadableNode> getChangedNodes(long sinceVersion) {
+    if (sinceVersion < 0 || sinceVersion > this.version) {
+      throw new IllegalArgumentException("That version has not happened");
+    }
+    List<IReadableNode> nodes = new ArrayList<>();
+    int cols = this.layout.getCols();
+    if (this.version - sinceVersion > CHANGE_LOG_SIZE) {
+      for (int r = 0; r < this.layout.getRows(); r++) {
+        for (int c = 0; c < cols; c++) {
+          nodes.add(this.nodeAt(r, c));
+        }
+      }
+      return nodes;
+    }
+    Set<Integer> seen = new HashSet<>();
+    for (long v = sinceVersion; v < this.version; v++) {
+      int cell = this.changes[(int) (v & (CHANGE_LOG_SIZE - 1))];
+      if (seen.add(cell)) {
+        nodes.add(this.nodeAt(cell / cols, cell % cols));
+      }
+    }
+    return nodes;
   }
 
   /**
-   * Helper to the get connected rooms, this takes in a position and a direction of the connection,
-   * and if its not a hallway returns it as the connected node. If it is a hallway it goes through
-   * the hallway and tries the next node.
+   * Returns a copy of the room at the given location as this game sees it, with the visited flag
+   * and the players in it added to the layout's room.
    *
-   * @param position  position of the node to check.
-   * @param direction the direction of the connection from the previous node.
-   * @return the connected room that isnt a hallway
+   * @param row the row location
+   * @param col the col location
+   * @return the room.
    */
-  private IWritableNode getConnectedNodeHelp(Position position, Direction direction) {
-    IWritableNode node = this.board[position.getRow()][position.getCol()];
-    if (node.getRoomType() != RoomType.HALLWAY) {
-      return node;
-    } else {
-      List<Direction> directions = new ArrayList<>(node.getConnectedDirs());
-      directions.remove(direction.opposite());
-
-      return getConnectedNodeHelp(this
-                      .handleWrap(this.updatePosFromDirection(position, directions.get(0))),
-              directions.get(0));
+  private IReadableNode nodeAt(int row, int col) {
+    IReadableNode node = this.layout.getNode(row, col);
+    int cell = row * this.layout.getCols() + col;
+    int attributes = this.layout.attributes(cell);
+    //player one is shown on their own, and everyone else is shown as player two
+    int others = this.occupancy.count(cell);
+    if (this.players[0].getCell() == cell) {
+      attributes |= 1 << RoomAttribute.HAS_PLAYER1.ordinal();
+      others--;
     }
+    if (others > 0) {
+      attributes |= 1 << RoomAttribute.HAS_PLAYER2.ordinal();
+    }
+    return new ReadableNode(row, col, node.getConnectedDirs(), node.getRoomType(),
+            this.visited.get(cell), attributes);
   }
 
-
   /**
    * Provides a way to view the maze for debuging purposes.
    *
@@ -477,13 +397,14 @@ public class Maze implements IMaze {
    */
   public String toString() {
     StringBuilder builder = new StringBuilder();
-    for (int r = 0; r < this.board.length; r++) {
-      for (int c = 0; c < this.board[r].length; c++) {
-        builder.append(this.board[r][c].debugPrint()).append(this.board[r][c].debugPrintEEdge());
+    for (int r = 0; r < this.layout.getRows(); r++) {
+      for (int c = 0; c < this.layout.getCols(); c++) {
+        IReadableNode node = this.nodeAt(r, c);
+        builder.append(node.debugPrint()).append(node.debugPrintEEdge());
       }
       builder.append("\n");
-      for (int c = 0; c < this.board[r].length; c++) {
-        builder.append(this.board[r][c].debugPrintSEdge()).append(" ");
+      for (int c = 0; c < this.layout.getCols(); c++) {
+        builder.append(this.layout.getNode(r, c).debugPrintSEdge()).append(" ");
       }
       builder.append("\n");
     }
@@ -494,8 +415,8 @@ public class Maze implements IMaze {
   @Override
   public List<Direction> possiblePlayerMoves() {
 
-    Position playerPos = this.choosePlayer().getPosition();
-    IReadableNode node = this.board[playerPos.getRow()][playerPos.getCol()];
+    Position playerPos = this.positionOf(this.choosePlayer().getCell());
+    IReadableNode node = this.layout.getNode(playerPos.getRow(), playerPos.getCol());
     return node.getConnectedDirs();
   }
 
@@ -509,63 +430,69 @@ public class Maze implements IMaze {
   }
 
   /**
-   * Advances the turn to the next player.
+   * Advances the turn to the next player who is still playing.
    */
   private void advanceTurn() {
     if (this.isGameOver()) {
       return;
     }
-
-    if (this.turn < this.players.length) {
-      this.turn++;
-    } else {
-      this.turn = 1;
-    }
-    if (this.isGameOver(this.choosePlayer())) {
-      this.advanceTurn();
-    }
+    //a player who just went out was taken out of the ring, but still points on to the next player
+    this.turn = this.nextTurn[this.turn - 1] + 1;
   }
 
 
   @Override
   public void movePlayer(Direction direction) {
-
-    this.movePlayer(direction, this.choosePlayer());
-    this.advanceTurn();
-
+    CommandStatus status = this.tryMove(direction);
+    if (status == CommandStatus.GAME_OVER) {
+      throw new IllegalStateException(status.getMessage());
+    }
+    if (status != CommandStatus.OK) {
+      throw new IllegalArgumentException(CommandStatus.WALL.getMessage());
+    }
   }
 
+  @Override
+  public CommandStatus tryMove(Direction direction) {
+    Player player = this.choosePlayer();
+    CommandStatus status = this.checkMove(direction, player);
+    if (status == CommandStatus.OK) {
+      this.step(direction, player);
+      this.advanceTurn();
+    }
+    return status;
+  }
 
   /**
-   * Moves a specific player based off of the given direction.
+   * Checks if a player can move in a direction.
    *
    * @param direction the direction to move.
    * @param player    the specific player
+   * @return OK if they can, or why not.
    */
-  private void movePlayer(Direction direction, Player player) {
-
+  private CommandStatus checkMove(Direction direction, Player player) {
     if (this.isGameOver(player)) {
-      throw new IllegalStateException("The game is over");
+      return CommandStatus.GAME_OVER;
     }
-
-    if (this.possiblePlayerMoves().contains(direction)) {
-      player.clearEffects();
-      Position playerLoc = player.getPosition();
-      this.board[playerLoc.getRow()][playerLoc.getCol()]
-              .shouldIContainPlayer(false, player.getPlayerNum());
-      player.move(direction);
-
-      playerLoc = handleWrap(player.getPosition());
-      player.setPosition(playerLoc.getRow(), playerLoc.getCol());
-      this.roomEffect(this.board[playerLoc.getRow()][playerLoc.getCol()], direction);
-      playerLoc = player.getPosition();
-      this.board[playerLoc.getRow()][playerLoc.getCol()]
-              .shouldIContainPlayer(true, player.getPlayerNum());
-
-
-    } else {
-      throw new IllegalArgumentException("The player cannot move in that direction");
+    if (direction == null) {
+      return CommandStatus.NO_DIRECTION;
+    }
+    if ((this.layout.connections(player.getCell()) & (1 << direction.ordinal())) == 0) {
+      return CommandStatus.WALL;
     }
+    return CommandStatus.OK;
+  }
+
+  /**
+   * Moves a player in a direction that has already been checked.
+   *
+   * @param direction the direction to move.
+   * @param player    the specific player
+   */
+  private void step(Direction direction, Player player) {
+    player.clearEffects();
+    this.changed(player.getCell());
+    this.roomEffect(this.layout.neighbor(player.getCell(), direction), direction);
   }
 
 
@@ -590,10 +517,10 @@ public class Maze implements IMaze {
    */
   private Direction directionTo(Player player, Position position) {
     Direction dir = null;
-    for (Direction direction : this.possiblePlayerMoves()) {
-      Position connectedPos = this.handleWrap(
-              this.updatePosFromDirection(player.getPosition(), direction));
-      if (this.getConnectedNodeHelp(connectedPos, direction).getPosition().equals(position)) {
+    for (Direction direction
+            : DirectionSet.of(this.layout.connections(player.getCell()))) {
+      if (this.layout.connectedRoom(this.positionOf(player.getCell()), direction)
+              .equals(position)) {
         dir = direction;
       }
     }
@@ -601,96 +528,53 @@ public class Maze implements IMaze {
     return dir;
   }
 
-  /**
-   * Handles a position moving over wrapped edges in a maze. Returns the new position.
-   *
-   * @return the new position after wrapping
-   */
-  private Position handleWrap(Position position) {
-
-    if (position.getRow() >= this.board.length) {
-      return new Position(0, position.getCol());
-    }
-    if (position.getCol() >= this.board[0].length) {
-      return new Position(position.getRow(), 0);
-    }
-    if (position.getRow() < 0) {
-      return new Position(this.board.length - 1, position.getCol());
-    }
-    if (position.getCol() < 0) {
-      return new Position(position.getRow(), this.board[0].length - 1);
-    }
-    return position;
-
-  }
-
-  /**
-   * Takes in a position and a direction and returns the new position if you moved based off of that
-   * direction.
-   *
-   * @param position  the position you start at.
-   * @param direction the direction you move to.
-   * @return the new position you are in.
-   */
-  private Position updatePosFromDirection(Position position, Direction direction) {
-    switch (direction) {
-      case EAST:
-        return new Position(position.getRow(), position.getCol() + 1);
-
-      case WEST:
-        return new Position(position.getRow(), position.getCol() - 1);
-
-      case SOUTH:
-        return new Position(position.getRow() + 1, position.getCol());
-
-      case NORTH:
-        return new Position(position.getRow() - 1, position.getCol());
-
-      default:
-        throw new IllegalArgumentException("No null inputs");
-    }
-  }
-
-
   /**
    * After moving into a room, or ending up in one this triggers the room effect if it has not been
-   * visited before.
+   * visited before. Hallways are followed through to the room at the end of them.
    *
-   * @param node the node to trigger its effect.
+   * @param cell the index of the room to trigger its effect.
+   * @param dir  the direction the player came in from.
    */
-  private void roomEffect(IWritableNode node, Direction dir) {
-    RoomType curRoom = node.getRoomType();
-    if (node.beenVisited() && node.getRoomType() != RoomType.HALLWAY
-            && node.getRoomType() != RoomType.WUMPUS) {
+  private void roomEffect(int cell, Direction dir) {
+    RoomType curRoom = this.layout.roomType(cell);
+    //walks hallways in a loop rather than moving again, so long hallways do not use up the stack
+    while (curRoom == RoomType.HALLWAY) {
+      if (!this.visited.get(cell)) {
+        this.visit(cell);
+        this.changed(cell);
+      }
+      int exits = this.layout.connections(cell) & ~(1 << dir.opposite().ordinal());
+      dir = DIRECTIONS[Integer.numberOfTrailingZeros(exits)];
+      cell = this.layout.neighbor(cell, dir);
+      curRoom = this.layout.roomType(cell);
+    }
+    this.place(this.choosePlayer(), cell);
+    this.changed(cell);
+    if (this.visited.get(cell) && curRoom != RoomType.WUMPUS) {
       return;
     } else {
-      node.visit();
+      this.visit(cell);
     }
 
     switch (curRoom) {
-      case HALLWAY:
-        List<Direction> dirs = new ArrayList<>(node.getConnectedDirs());
-        dirs.remove(dir.opposite());
-        this.movePlayer(dirs.get(0), this.choosePlayer());
-        return;
       case WUMPUS:
-        this.choosePlayer().addEffect(PlayerEffect.RAN_INTO_WUMPUS);
+        this.addEffect(this.choosePlayer(), PlayerEffect.RAN_INTO_WUMPUS);
         return;
       case PIT:
-        this.choosePlayer().addEffect(PlayerEffect.FELL_INTO_PIT);
+        this.addEffect(this.choosePlayer(), PlayerEffect.FELL_INTO_PIT);
         return;
       case SUPERBAT:
         if (this.telePlayer()) {
-          this.choosePlayer().addEffect(PlayerEffect.GRABBED_BY_BAT);
+          this.addEffect(this.choosePlayer(), PlayerEffect.GRABBED_BY_BAT);
         } else {
-          this.choosePlayer().addEffect(PlayerEffect.AVOIDED_BAT);
+          this.addEffect(this.choosePlayer(), PlayerEffect.AVOIDED_BAT);
         }
         return;
       case SUPERBAT_AND_PIT:
         if (!this.telePlayer()) {
-          this.choosePlayer().addEffect(PlayerEffect.FELL_INTO_PIT);
+          this.addEffect(this.choosePlayer(), PlayerEffect.FELL_INTO_PIT);
         } else {
-          this.choosePlayer().addEffect(PlayerEffect.GRABBED_BY_BAT);
+          this.addEffect(this.choosePlayer(), PlayerEffect.GRABBED_BY_BAT);
         }
         break;
 
@@ -702,78 +586,42 @@ public class Maze implements IMaze {
   }
 
   /**
-   * Teleports the player to a random location with a 50% chance. A player cannot be teleported to a
-   * room with a bat or a hallway.
+   * Teleports the player with a 50% chance. A player cannot be teleported to a room with a bat or a
+   * hallway.
    *
    * @return if the player was teleported.
    */
   private boolean telePlayer() {
-    boolean foundLoc = false;
-    Random r = new Random(this.seed * this.choosePlayer().getPosition().getRow()
-            * this.choosePlayer().getPosition().getCol());
-    int tele = r.nextInt(2);
-
-    if (tele == 0) {
+    int drop = this.layout.batDrop(this.choosePlayer().getCell());
+    if (drop == -1) {
       return false;
-
-    }
-    while (!foundLoc) {
-      int rowLoc = r.nextInt(this.board.length);
-      int colLoc = r.nextInt(this.board[0].length);
-      if (!Arrays.asList(RoomType.SUPERBAT, RoomType.SUPERBAT_AND_PIT, RoomType.HALLWAY)
-              .contains(this.board[rowLoc][colLoc].getRoomType())) {
-        this.choosePlayer().setPosition(rowLoc, colLoc);
-        this.roomEffect(this.board[rowLoc][colLoc], null);
-        foundLoc = true;
-      }
     }
+    this.roomEffect(drop, null);
     return true;
   }
 
   @Override
   public Position getPlayerLocation() {
-    return this.choosePlayer().getPosition();
+    return this.positionOf(this.choosePlayer().getCell());
   }
 
   @Override
   public List<List<IReadableNode>> getNodes() {
     List<List<IReadableNode>> nodes = new ArrayList<>();
-    for (int r = 0; r < this.board.length; r++) {
+    for (int r = 0; r < this.layout.getRows(); r++) {
       List<IReadableNode> thisRow = new ArrayList<>();
-      for (int c = 0; c < this.board[r].length; c++) {
-        thisRow.add(this.board[r][c].copy());
+      for (int c = 0; c < this.layout.getCols(); c++) {
+        thisRow.add(this.nodeAt(r, c));
       }
       nodes.add(thisRow);
     }
     return nodes;
   }
 
-  /**
-   * Used to get a list of all the nodes in a writable form for room assignment purposes.
-   *
-   * @return a list of all the nodes in writeable form
-   */
-  private List<IWritableNode> getWriteableNodes() {
-    List<IWritableNode> nodes = new ArrayList<>();
-    for (IWritableNode[] iWritableNodes : this.board) {
-      nodes.addAll(Arrays.asList(iWritableNodes));
-
-    }
-    return nodes;
-  }
-
   @Override
   public boolean isGameOver() {
-    boolean gameOver = true;
-    for (Player player : this.players) {
-      //if someone has killed the wumpus
-      if (player.getRecentEffects().contains(PlayerEffect.SHOT_WUMPUS)) {
-        return true;
-      }
-      //if everyone is dead
-      gameOver = gameOver && this.isGameOver(player);
-    }
-    return gameOver;
+    //if someone has killed the wumpus, or everyone is dead
+    return this.wumpusShot || this.playersOut == this.players.length;
   }
 
   /**
@@ -783,10 +631,39 @@ public class Maze implements IMaze {
    * @return if the game is over for the current player.
    */
   private boolean isGameOver(Player player) {
-    List<PlayerEffect> effects = player.getRecentEffects();
-    return effects.contains(PlayerEffect.NO_ARROWS) || effects.contains(PlayerEffect.SHOT_WUMPUS)
-            || effects.contains(PlayerEffect.RAN_INTO_WUMPUS)
-            || effects.contains(PlayerEffect.FELL_INTO_PIT);
+    return player.isOut();
+  }
+
+  /**
+   * Gives a player an effect, and keeps track of whether that ended the game. A player who is out
+   * is taken out of the turns, and never moves or shoots again, so their effects are never cleared.
+   *
+   * @param player the player
+   * @param effect the effect
+   */
+  private void addEffect(Player player, PlayerEffect effect) {
+    boolean wasOut = player.isOut();
+    player.addEffect(effect);
+    if (!wasOut && player.isOut()) {
+      this.playersOut++;
+      int index = player.getPlayerNum() - 1;
+      this.nextTurn[this.previousTurn[index]] = this.nextTurn[index];
+      this.previousTurn[this.nextTurn[index]] = this.previousTurn[index];
+    }
+    if (effect == PlayerEffect.SHOT_WUMPUS) {
+      this.wumpusShot = true;
+    }
+  }
+
+  /**
+   * Moves a player into a room, keeping track of who is in each room.
+   *
+   * @param player the player
+   * @param cell   the index of the room
+   */
+  private void place(Player player, int cell) {
+    this.occupancy.move(player.getPlayerNum() - 1, player.getCell(), cell);
+    player.setCell(cell);
   }
 
   @Override
@@ -798,46 +675,121 @@ public class Maze implements IMaze {
     return effectsList;
   }
 
+  @Override
+  public List<PlayerEffect> getRecentEffects(int playerNum) {
+    if (playerNum < 1 || playerNum > this.players.length) {
+      throw new IllegalArgumentException("There is no player with that number");
+    }
+    return this.players[playerNum - 1].getRecentEffects();
+  }
+
   @Override
   public void fireArrow(Direction dir, int distance) {
-    this.fireArrow(dir, distance, choosePlayer());
-    this.advanceTurn();
+    CommandStatus status = this.tryShoot(dir, distance);
+    switch (status) {
+      case OK:
+        return;
+      case GAME_OVER:
+        throw new IllegalStateException("The game is over you cannot shoot");
+      case NO_ARROWS:
+        throw new IllegalStateException(status.getMessage());
+      default:
+        throw new IllegalArgumentException(status.getMessage());
+    }
+  }
 
+  @Override
+  public CommandStatus tryShoot(Direction dir, int distance) {
+    Player player = this.choosePlayer();
+    CommandStatus status = this.checkShot(dir, distance, player);
+    if (status == CommandStatus.OK) {
+      this.shoot(dir, distance, player);
+      this.advanceTurn();
+    }
+    return status;
   }
 
   /**
-   * Fires an arrow in a specific direction, at a specific distance, for a specific player.
+   * Checks if a player can fire an arrow in a specific direction, at a specific distance.
    *
    * @param dir      the direction
    * @param distance the distance
    * @param player   the player
+   * @return OK if they can, or why not.
    */
-  private void fireArrow(Direction dir, int distance, Player player) {
+  private CommandStatus checkShot(Direction dir, int distance, Player player) {
     if (this.isGameOver()) {
-      throw new IllegalStateException("The game is over you cannot shoot");
+      return CommandStatus.GAME_OVER;
     }
-    if (player.getRecentEffects().contains(PlayerEffect.NO_ARROWS)) {
-      throw new IllegalStateException("Player is out of arrows");
+    if (player.hasEffect(PlayerEffect.NO_ARROWS)) {
+      return CommandStatus.NO_ARROWS;
     }
     if (distance < 1) {
-      throw new IllegalArgumentException("You must shoot an arrow greater than 1 units far");
+      return CommandStatus.BAD_DISTANCE;
     }
     if (dir == null) {
-      throw new IllegalArgumentException("No null directions");
+      return CommandStatus.NO_DIRECTION;
     }
+    return CommandStatus.OK;
+  }
+
+  /**
+   * Fires an arrow for a player, after the shot has already been checked.
+   *
+   * @param dir      the direction
+   * @param distance the distance
+   * @param player   the player
+   */
+  private void shoot(Direction dir, int distance, Player player) {
     player.clearEffects();
     player.removeArrow();
-    if (fireArrowHelper(dir, distance, player.getPosition())) {
-      player.addEffect(PlayerEffect.SHOT_WUMPUS);
+    if (this.layout.arrowHits(this.positionOf(player.getCell()), dir, distance)) {
+      this.addEffect(player, PlayerEffect.SHOT_WUMPUS);
     } else {
-      player.addEffect(PlayerEffect.MISSED_WUMPUS);
+      this.addEffect(player, PlayerEffect.MISSED_WUMPUS);
       if (player.getArrowAmount() == 0) {
-        player.addEffect(PlayerEffect.NO_ARROWS);
+        this.addEffect(player, PlayerEffect.NO_ARROWS);
       }
 
     }
   }
 
+  @Override
+  public List<CommandResult> apply(CommandBatch batch) {
+    if (batch == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    List<CommandResult> results = new ArrayList<>(batch.size());
+    int cols = this.layout.getCols();
+    for (int i = 0; i < batch.size(); i++) {
+      Player player = this.choosePlayer();
+      Direction dir = batch.direction(i);
+      CommandStatus status;
+      if (batch.isShot(i)) {
+        status = this.checkShot(dir, batch.distance(i), player);
+        if (status == CommandStatus.OK) {
+          this.shoot(dir, batch.distance(i), player);
+        }
+      } else {
+        status = this.checkMove(dir, player);
+        if (status == CommandStatus.OK) {
+          this.step(dir, player);
+        }
+      }
+      if (status == CommandStatus.OK) {
+        this.advanceTurn();
+      }
+      int cell = player.getCell();
+      results.add(new CommandResult(status, player.getPlayerNum(), cell / cols, cell % cols,
+              player.getArrowAmount(), player.getEffectOrder(), this.turn, this.isGameOver(),
+              this.version));
+      if (status != CommandStatus.OK) {
+        break;
+      }
+    }
+    return results;
+  }
+
   @Override
   public int getArrowAmount() {
     return this.choosePlayer().getArrowAmount();
@@ -846,10 +798,8 @@ public class Maze implements IMaze {
 
   @Override
   public IMaze restart() {
-    return new Maze(restartParams[0], restartParams[1], restartParams[2],
-            restartParams[3] == 1, restartParams[4], restartParams[5], restartParams[6],
-            restartParams[7], restartParams[8], restartParams[9],
-            this.seed, restartParams[10], restartParams[11]);
+    //the layout never changes while playing, so a new game can be started on it straight away
+    return this.layout.newGame();
   }
 
   @Override
@@ -857,39 +807,45 @@ public class Maze implements IMaze {
     return this.turn;
   }
 
-  /**
-   * Helps the fire arrow method. Checks to see if the arrow hit the wumpus. This function walks
-   * down rooms/hallways searching to see if the wumpus is hit. If its a hallway it will curve and
-   * not count for distance, if its a room it contiunes straight but looses distance.
-   *
-   * @param dir      the direction the arrow is traveling
-   * @param distance the distance for the arrow to travel.
-   * @param newStart the position the arrow should start at.
-   * @return if the arrow hit the wumpus.
-   */
-  private boolean fireArrowHelper(Direction dir, int distance, Position newStart) {
+  @Override
+  public int getPlayerCount() {
+    return this.players.length;
+  }
 
-    IWritableNode startNode = this.board[newStart.getRow()][newStart.getCol()];
-    Position endPos;
-    if (distance == 0) {
-      return startNode.getRoomType() == RoomType.WUMPUS;
-    }
-    if (!startNode.getConnectedDirs().contains(dir)) {
-      return false;
+  @Override
+  public List<Integer> getPlayersAt(Position position) {
+    int cell = this.cellOf(position);
+    List<Integer> players = new ArrayList<>(this.occupancy.count(cell));
+    for (int player = this.occupancy.first(cell); player != -1;
+         player = this.occupancy.next(player)) {
+      players.add(player + 1);
     }
-    endPos = this.handleWrap(this.updatePosFromDirection(newStart, dir));
+    Collections.sort(players);
+    return players;
+  }
 
-    if (this.board[endPos.getRow()][endPos.getCol()].getRoomType() == RoomType.HALLWAY) {
-      List<Direction> dirs = new ArrayList<>(this.board[endPos.getRow()][endPos.getCol()]
-              .getConnectedDirs());
-      dirs.remove(dir.opposite());
-      dir = dirs.get(0);
+  @Override
+  public IReadableNode getNode(Position position) {
+    this.cellOf(position);
+    return this.nodeAt(position.getRow(), position.getCol());
+  }
 
-      return fireArrowHelper(dir, distance, endPos);
+  /**
+   * Returns the index of a room asked about from outside the game.
+   *
+   * @param position the position of the room
+   * @return the index of the room.
+   * @throws IllegalArgumentException if the room is not in the maze
+   */
+  private int cellOf(Position position) {
+    if (position == null) {
+      throw new IllegalArgumentException("no null inputs");
     }
-
-    return fireArrowHelper(dir, distance - 1, endPos);
+    if (position.getRow() < 0 || position.getRow() >= this.layout.getRows()
+            || position.getCol() < 0 || position.getCol() >= this.layout.getCols()) {
+      throw new IllegalArgumentException("That room is not in the maze");
+    }
+    return position.getRow() * this.layout.getCols() + position.getCol();
   }
 
-
 }
@@ -0,0 +1,133 @@
+package model;
+
+/**
+ * Represents the storage for the rooms of a maze. Boards hand out {@link IWritableNode}s for their
+ * rooms, but are free to store them however they like.
+ */
+interface MazeBoard {
+
+  /**
+   * Returns the amount of rows on the board.
+   *
+   * @return the rows.
+   */
+  int getRows();
+
+  /**
+   * Returns the amount of cols on the board.
+   *
+   * @return the cols.
+   */
+  int getCols();
+
+  /**
+   * Returns the node at the given location. Changes made to the node are made to the board.
+   *
+   * @param row the row location
+   * @param col the col location
+   * @return the node.
+   */
+  IWritableNode getNode(int row, int col);
+
+  /**
+   * Returns the connections of the room with the given index, row * cols + col, as a mask with the
+   * bit for each connected {@link Direction}'s ordinal set. Boards should override this so it does
+   * not have to look at a node.
+   *
+   * @param cell the index of the room
+   * @return the connection mask.
+   */
+  default int connectionMask(int cell) {
+    return this.getNode(cell / this.getCols(), cell % this.getCols()).getConnections().mask();
+  }
+
+  /**
+   * Returns the type of the room with the given index, row * cols + col. Boards should override
+   * this so it does not have to look at a node.
+   *
+   * @param cell the index of the room
+   * @return the room type.
+   */
+  default RoomType roomTypeOf(int cell) {
+    return this.getNode(cell / this.getCols(), cell % this.getCols()).getRoomType();
+  }
+
+  /**
+   * Returns the attributes of the room with the given index, row * cols + col, as a mask with the
+   * bit for each {@link RoomAttribute}'s ordinal set. Boards should override this so it does not
+   * have to look at a node.
+   *
+   * @param cell the index of the room
+   * @return the attribute mask.
+   */
+  default int attributeMask(int cell) {
+    int mask = 0;
+    for (RoomAttribute attribute
+            : this.getNode(cell / this.getCols(), cell % this.getCols()).getRoomAttributes()) {
+      mask |= 1 << attribute.ordinal();
+    }
+    return mask;
+  }
+
+  /**
+   * Returns the index of the room next to a room in a direction, wrapping over the edges of the
+   * board.
+   *
+   * @param cell the index of the room
+   * @param dir  the direction
+   * @return the index of the room next to it.
+   */
+  default int neighbor(int cell, Direction dir) {
+    int rows = this.getRows();
+    int cols = this.getCols();
+    int row = cell / cols;
+    int col = cell % cols;
+    switch (dir) {
+      case NORTH:
+        return (row == 0 ? rows - 1 : row - 1) * cols + col;
+      case SOUTH:
+        return (row == rows - 1 ? 0 : row + 1) * cols + col;
+      case EAST:
+        return row * cols + (col == cols - 1 ? 0 : col + 1);
+      case WEST:
+        return row * cols + (col == 0 ? cols - 1 : col - 1);
+      default:
+        throw new IllegalArgumentException("No null inputs");
+    }
+  }
+
+  /**
+   * Called once the maze on the board has been fully generated, before anyone has moved. Boards
+   * that can be saved store the seed and settings so the maze can be opened again, others ignore
+   * it.
+   *
+   * @param seed     the seed the maze was made with
+   * @param settings the settings the maze was made with
+   */
+  default void generated(long seed, int[] settings) {
+    //most boards are not saved
+  }
+
+  /**
+   * Called if generating the maze on the board failed, so the board will never be used. Boards that
+   * were being saved throw away what they wrote, others ignore it.
+   */
+  default void abandoned() {
+    //most boards are not saved
+  }
+
+  /**
+   * Creates empty boards of a given size.
+   */
+  interface Factory {
+
+    /**
+     * Creates a board where every room is empty, with no connections.
+     *
+     * @param rows the rows on the board
+     * @param cols the cols on the board
+     * @return the board.
+     */
+    MazeBoard create(int rows, int cols);
+  }
+}
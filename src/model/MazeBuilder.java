@@ -1,6 +1,8 @@
 package model;
 
+import java.nio.file.Path;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 
 
 /**
@@ -21,6 +23,10 @@ public final class MazeBuilder {
   private long seed;
   private int arrowCount;
   private int playerCount;
+  private boolean parallel;
+  private GeneratorType generatorType;
+  private boolean compact;
+  private Path storageFile;
 
 
   /**
@@ -41,6 +47,10 @@ public final class MazeBuilder {
     this.seed = new Random().nextLong();
     this.arrowCount = 2;
     this.playerCount = 1;
+    this.parallel = false;
+    this.generatorType = GeneratorType.KRUSKAL;
+    this.compact = false;
+    this.storageFile = null;
   }
 
   /**
@@ -254,20 +264,93 @@ public final class MazeBuilder {
   }
 
   /**
-   * Builds the maze object based off of the mazebuilder's specifications.
+   * Sets the algorithm the maze is generated with.
    *
-   * @return the maze object
+   * @param generatorType the algorithm to generate with.
    */
-  public IMaze build() {
+  public void setGeneratorType(GeneratorType generatorType) {
+    if (generatorType == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    this.generatorType = generatorType;
+  }
+
+  /**
+   * Sets if the maze should be generated in parallel. Parallel generation splits the work across
+   * the common fork join pool, and builds the exact same maze as generating on one thread. Only
+   * the kruskal generator can run in parallel, the others ignore this.
+   *
+   * @param parallel if the maze is generated in parallel.
+   */
+  public void setParallelGeneration(boolean parallel) {
+    this.parallel = parallel;
+  }
+
+  /**
+   * Sets if the maze should store its rooms compactly. A compact maze keeps each room in a few
+   * bytes of shared arrays instead of as its own object, which lets much larger mazes fit in
+   * memory. It plays exactly the same, though the directions and attributes of a room are always
+   * listed in declaration order.
+   *
+   * @param compact if the rooms are stored compactly.
+   */
+  public void setCompactStorage(boolean compact) {
+    this.compact = compact;
+  }
+
+  /**
+   * Sets a file to store the maze in while it is generated, or null to keep it in memory. The rooms
+   * of a stored maze are kept in the file rather than on the heap, and the maze can be opened again
+   * later with {@link Maze#open} without generating it again. Anything already in the file is
+   * replaced.
+   *
+   * @param storageFile the file to store the maze in.
+   */
+  public void setStorageFile(Path storageFile) {
+    this.storageFile = storageFile;
+  }
+
+  /**
+   * Builds the layout of a maze based off of the mazebuilder's specifications. Any amount of games
+   * can be started on the layout, see {@link MazeLayout#newGame()}.
+   *
+   * @return the layout
+   */
+  public MazeLayout buildLayout() {
+    return this.buildLayout(this.seed);
+  }
+
+  /**
+   * Builds the layout of a maze based off of the mazebuilder's specifications, with the given seed
+   * in place of the builder's. This does not change the builder, so many layouts can be built from
+   * one builder on different threads at once, as long as nothing sets anything on it meanwhile and
+   * it has no storage file.
+   *
+   * @param seed the seed to build the layout from
+   * @return the layout
+   */
+  public MazeLayout buildLayout(long seed) {
+    int walls = this.wallsRemaining;
     if (perfect) {
-      return new Maze(this.rows, this.cols,
-              this.isWrapping, this.sRow, this.sCol, this.gRow, this.gCol, batsPercentage,
-              pitsPercentage, this.seed, this.arrowCount, playerCount);
-    } else {
-      return new Maze(this.rows, this.cols, this.wallsRemaining,
-              this.isWrapping, this.sRow, this.sCol, this.gRow, this.gCol, batsPercentage,
-              pitsPercentage, this.seed, this.arrowCount, this.playerCount);
+      walls = Maze.perfectWallsRemaining(this.rows, this.cols, this.isWrapping);
+    }
+    MazeBoard.Factory boardFactory = this.compact ? CompactBoard::new : NodeBoard::new;
+    if (this.storageFile != null) {
+      boardFactory = MappedBoard.factory(this.storageFile);
     }
+    return new MazeLayout(this.rows, this.cols, walls,
+            this.isWrapping, this.sRow, this.sCol, this.gRow, this.gCol, batsPercentage,
+            pitsPercentage, seed, this.arrowCount, this.playerCount,
+            this.generatorType.create(this.parallel ? ForkJoinPool.commonPool() : null),
+            boardFactory);
+  }
 
+  /**
+   * Builds the maze object based off of the mazebuilder's specifications.
+   *
+   * @return the maze object
+   */
+  public IMaze build() {
+    return this.buildLayout().newGame();
   }
 }
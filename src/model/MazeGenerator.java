@@ -0,0 +1,22 @@
+package model;
+
+/**
+ * Represents an algorithm that chooses which edges of a maze are open. Generators return edges
+ * packed as in {@link EdgeList}, in the order they should be assigned to the rooms. The same size,
+ * seed and amount of edges must always give the same edges.
+ */
+interface MazeGenerator {
+
+  /**
+   * Generates the edges of a maze. There must be enough edges to connect every room, and any edges
+   * past that are extra edges that make the maze non perfect.
+   *
+   * @param rows        the rows in the maze
+   * @param cols        the cols in the maze
+   * @param isWrapping  whether or not the maze wraps.
+   * @param edgesNeeded the amount of edges the maze needs, at least one less than its rooms
+   * @param seed        the seed to generate from
+   * @return the chosen edges.
+   */
+  int[] generate(int rows, int cols, boolean isWrapping, int edgesNeeded, long seed);
+}
@@ -0,0 +1,601 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Represents the layout of a generated maze: its connections, its room types and the hints next to
+ * hazards. A layout never changes once it is built, so any amount of games can be played on the
+ * same layout at once, from any thread, while each game only keeps track of what its players have
+ * done. New games are started with {@link #newGame()}.
+ */
+public final class MazeLayout {
+  //the most players a game can have, which keeps a game's per player arrays a sensible size
+  static final int MAX_PLAYERS = 1 << 16;
+
+  private final MazeBoard board;
+  private final long seed;
+  private final int[] settings;
+  private volatile RoomGraph rooms;
+  private volatile ArrowTable arrows;
+  private volatile int[] landings;
+
+  /**
+   * Generates a layout using a given seed and generator.
+   *
+   * @param rows           the rows in the maze
+   * @param cols           the cols in the maze
+   * @param wallsRemaining the walls remaining when the maze is built
+   * @param isWrapping     whether or not the maze wraps.
+   * @param sRow           the starting point row
+   * @param sCol           the starting point col
+   * @param gRow           the goal row
+   * @param gCol           the goal col
+   * @param percentBats    the percentage of nodes with bats
+   * @param percentPits    the percentage of nodes with pits
+   * @param seed           the seed for the maze to build its edges from
+   * @param arrowCount     the number of arrows each player gets
+   * @param players        the amount of players
+   * @param generator      the generator that chooses the edges of the maze
+   * @param boardFactory   makes the board the rooms are stored on
+   */
+  MazeLayout(int rows, int cols, int wallsRemaining, boolean isWrapping,
+             int sRow, int sCol, int gRow, int gCol,
+             int percentBats, int percentPits, long seed, int arrowCount, int players,
+             MazeGenerator generator, MazeBoard.Factory boardFactory) {
+    if (rows < 1 || cols < 1 || rows + cols == 2) {
+      throw new IllegalArgumentException("You must have a maze of more than 1 room");
+    }
+    if (sRow >= rows || sRow < 0 || sCol >= cols || sCol < 0
+            || gRow >= rows || gRow < 0 || gCol >= cols || gCol < 0) {
+      throw new IllegalArgumentException("Start and end must be on the maze board");
+    }
+    if (sRow == gRow && sCol == gCol) {
+      throw new IllegalArgumentException("Start and goal cannot be the same");
+    }
+    if (percentBats < 0 || percentPits < 0 || percentBats > 100 || percentPits > 100) {
+      throw new IllegalArgumentException("Bat and Pit percentages must be valid percentage values");
+    }
+    if (arrowCount < 1) {
+      throw new IllegalArgumentException("A player must have a positive amount of arrows");
+    }
+    if (players <= 0 || players > MAX_PLAYERS) {
+      throw new IllegalArgumentException("Must have between 1 and " + MAX_PLAYERS + " players");
+    }
+    this.settings =
+            new int[]{rows, cols, wallsRemaining, isWrapping ? 1 : 0, sRow, sCol,
+              gRow, gCol, percentBats, percentPits, arrowCount, players};
+    int totalWalls;
+    if (isWrapping) {
+      totalWalls = 2 * (cols * rows);
+    } else {
+      totalWalls = (cols * (rows - 1)) + (rows * (cols - 1));
+    }
+    int egdesNeeded = totalWalls - wallsRemaining;
+    if (egdesNeeded < (cols * rows) - 1) {
+      throw new IllegalArgumentException("There are two many walls remaining " +
+              "for the maze to be completable");
+    }
+    this.seed = seed;
+
+    //Generates the graph of nodes building pieces
+    this.board = boardFactory.create(rows, cols);
+    try {
+      //Assigns edges to connect the graph
+      this.assignEdges(generator.generate(rows, cols, isWrapping, egdesNeeded, seed));
+
+      //Sets start and End
+      this.board.getNode(sRow, sCol).setRoomType(RoomType.START);
+      this.board.getNode(gRow, gCol).setRoomType(RoomType.WUMPUS);
+
+      //Converts rooms with two exits to hallways
+      this.convertToHallways();
+      this.rooms = new RoomGraph(this.board);
+
+      //adds special room types
+      this.assignRoomTypeToMaze(RoomType.SUPERBAT, percentBats, seed);
+      this.assignRoomTypeToMaze(RoomType.PIT, percentPits, seed);
+
+      //gives warning to special's neighbors
+      this.applyAttributesToNeighbors();
+      this.arrows = new ArrowTable(this.board, this.rooms, gRow * cols + gCol);
+      this.landings = this.findLandings();
+
+      this.board.generated(seed, this.settings);
+    } catch (RuntimeException | Error e) {
+      //a board being saved to a file should not leave a half written file behind
+      this.board.abandoned();
+      throw e;
+    }
+  }
+
+  /**
+   * Creates a layout from a board that was saved to a file.
+   *
+   * @param board the saved board
+   */
+  private MazeLayout(MappedBoard board) {
+    this.board = board;
+    this.seed = board.getSeed();
+    this.settings = board.getSettings();
+  }
+
+  /**
+   * Opens a layout that was saved to a file with {@link MazeBuilder#setStorageFile}. Opening does
+   * not generate anything, and any amount of layouts can be opened from the same file at once, even
+   * from different programs, sharing the memory the file uses.
+   *
+   * @param file the file the layout was saved in
+   * @return the layout.
+   * @throws IOException if the file could not be read
+   */
+  public static MazeLayout open(Path file) throws IOException {
+    if (file == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    return new MazeLayout(MappedBoard.open(file));
+  }
+
+  /**
+   * Starts a new game on this layout, with every player at the start.
+   *
+   * @return the new game.
+   */
+  public IMaze newGame() {
+    return new Maze(this);
+  }
+
+  /**
+   * Returns the amount of rows in the layout.
+   *
+   * @return the rows.
+   */
+  public int getRows() {
+    return this.board.getRows();
+  }
+
+  /**
+   * Returns the amount of cols in the layout.
+   *
+   * @return the cols.
+   */
+  public int getCols() {
+    return this.board.getCols();
+  }
+
+  /**
+   * Returns the seed the layout was made with.
+   *
+   * @return the seed.
+   */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+   * Returns the room at the given location. The room should only be read, layouts never change.
+   *
+   * @param row the row location
+   * @param col the col location
+   * @return the room.
+   */
+  IReadableNode getNode(int row, int col) {
+    return this.board.getNode(row, col);
+  }
+
+  /**
+   * Returns the index of the room the players start in.
+   *
+   * @return the start room.
+   */
+  int getStart() {
+    return this.settings[4] * this.board.getCols() + this.settings[5];
+  }
+
+  /**
+   * Returns the connections of a room as a mask with the bit for each connected direction's ordinal
+   * set.
+   *
+   * @param cell the index of the room
+   * @return the connection mask.
+   */
+  int connections(int cell) {
+    return this.board.connectionMask(cell);
+  }
+
+  /**
+   * Returns the attributes of a room as a mask with the bit for each attribute's ordinal set.
+   *
+   * @param cell the index of the room
+   * @return the attribute mask.
+   */
+  int attributes(int cell) {
+    return this.board.attributeMask(cell);
+  }
+
+  /**
+   * Returns the type of a room.
+   *
+   * @param cell the index of the room
+   * @return the room type.
+   */
+  RoomType roomType(int cell) {
+    return this.board.roomTypeOf(cell);
+  }
+
+  /**
+   * Returns the room next to a room in a direction, wrapping over the edges of the board.
+   *
+   * @param cell      the index of the room
+   * @param direction the direction
+   * @return the index of the room next to it.
+   */
+  int neighbor(int cell, Direction direction) {
+    return this.board.neighbor(cell, direction);
+  }
+
+  /**
+   * Returns the amount of arrows each player starts with.
+   *
+   * @return the arrows.
+   */
+  int getArrowCount() {
+    return this.settings[10];
+  }
+
+  /**
+   * Returns the amount of players in a game on this layout.
+   *
+   * @return the players.
+   */
+  int getPlayerCount() {
+    return this.settings[11];
+  }
+
+  /**
+   * Returns the graph of the rooms in this layout. Layouts opened from a file only build it the
+   * first time it is needed, so opening stays instant.
+   *
+   * @return the room graph.
+   */
+  private RoomGraph roomGraph() {
+    RoomGraph graph = this.rooms;
+    if (graph == null) {
+      synchronized (this) {
+        graph = this.rooms;
+        if (graph == null) {
+          graph = new RoomGraph(this.board);
+          this.rooms = graph;
+        }
+      }
+    }
+    return graph;
+  }
+
+  /**
+   * Returns where arrows hit the wumpus in this layout. Like the room graph, layouts opened from a
+   * file only build it the first time it is needed.
+   *
+   * @return the arrow table.
+   */
+  private ArrowTable arrowTable() {
+    ArrowTable table = this.arrows;
+    if (table == null) {
+      synchronized (this) {
+        table = this.arrows;
+        if (table == null) {
+          table = new ArrowTable(this.board, this.roomGraph(),
+                  this.settings[6] * this.board.getCols() + this.settings[7]);
+          this.arrows = table;
+        }
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Checks if an arrow fired from a room in a direction hits the wumpus. Hallways turn the arrow
+   * and do not count for distance, rooms keep it going straight and count for one.
+   *
+   * @param position  the room the arrow is fired from
+   * @param direction the direction it is fired in
+   * @param distance  the amount of rooms it flies
+   * @return if the arrow hits the wumpus.
+   */
+  boolean arrowHits(Position position, Direction direction, int distance) {
+    return this.arrowTable().hits(position.getRow() * this.board.getCols() + position.getCol(),
+            direction, distance);
+  }
+
+  /**
+   * Returns the shortest distance an arrow fired from a room in a direction hits the wumpus at. The
+   * answer comes from the same table shots are checked with, so bots and tools can ask it without
+   * playing the shot out.
+   *
+   * @param position  the room the arrow is fired from
+   * @param direction the direction it is fired in
+   * @return the distance, or zero if no distance hits.
+   * @throws IllegalArgumentException if the room is not in the maze
+   */
+  public long arrowHitDistance(Position position, Direction direction) {
+    if (direction == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    return this.arrowTable().firstHit(this.cellOf(position), direction);
+  }
+
+  /**
+   * Returns the index of a room given from outside the layout.
+   *
+   * @param position the position of the room
+   * @return the index of the room.
+   * @throws IllegalArgumentException if the room is not in the maze
+   */
+  private int cellOf(Position position) {
+    if (position == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    if (position.getRow() < 0 || position.getRow() >= this.board.getRows()
+            || position.getCol() < 0 || position.getCol() >= this.board.getCols()) {
+      throw new IllegalArgumentException("That room is not in the maze");
+    }
+    return position.getRow() * this.board.getCols() + position.getCol();
+  }
+
+  /**
+   * Returns where bats in a room drop a player they grab. Bats only grab a player half of the time,
+   * and a room's bats always do the same thing, so a seed always plays out the same way. Players
+   * are never dropped in a room with bats or in a hallway.
+   *
+   * @param bats the index of the room with the bats
+   * @return the index of the room the player is dropped in, or -1 if the player gets away.
+   */
+  int batDrop(int bats) {
+    int[] cells = this.landings;
+    if (cells == null) {
+      //only layouts opened from a file get here, the cells are found the first time bats grab
+      synchronized (this) {
+        cells = this.landings;
+        if (cells == null) {
+          cells = this.findLandings();
+          this.landings = cells;
+        }
+      }
+    }
+    long hash = mix(this.seed + (bats + 1L) * 0x9E3779B97F4A7C15L);
+    if ((hash & 1) == 0) {
+      return -1;
+    }
+    return cells[(int) (((hash >>> 32) * cells.length) >>> 32)];
+  }
+
+  /**
+   * Finds every room a bat can drop a player in.
+   *
+   * @return the indexes of the rooms, in order.
+   */
+  private int[] findLandings() {
+    int total = this.board.getRows() * this.board.getCols();
+    int count = 0;
+    for (int cell = 0; cell < total; cell++) {
+      if (isLanding(this.board.roomTypeOf(cell))) {
+        count++;
+      }
+    }
+    int[] cells = new int[count];
+    count = 0;
+    for (int cell = 0; cell < total; cell++) {
+      if (isLanding(this.board.roomTypeOf(cell))) {
+        cells[count] = cell;
+        count++;
+      }
+    }
+    return cells;
+  }
+
+  /**
+   * Checks if a bat can drop a player in a room of the given type.
+   *
+   * @param type the room type
+   * @return if a player can be dropped there.
+   */
+  private static boolean isLanding(RoomType type) {
+    switch (type) {
+      case SUPERBAT:
+      case SUPERBAT_AND_PIT:
+      case HALLWAY:
+        return false;
+      default:
+        return true;
+    }
+  }
+
+  /**
+   * Scrambles the bits of a number, so numbers close together give very different results.
+   *
+   * @param z the number
+   * @return the scrambled number.
+   */
+  private static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+    return z ^ (z >>> 31);
+  }
+
+  /**
+   * This takes the edges chosen by the generator and assigns them to the vertex, in the order they
+   * were chosen.
+   *
+   * @param chosenEdges the chosen edges, packed as in {@link EdgeList}
+   */
+  private void assignEdges(int[] chosenEdges) {
+    for (int edge : chosenEdges) {
+      this.assignEdge(EdgeList.start(edge),
+              EdgeList.end(edge, this.board.getRows(), this.board.getCols()),
+              EdgeList.direction(edge));
+    }
+
+  }
+
+  /**
+   * Assigns an edge to both of the nodes it connects. Assigns the edge's direction to the start and
+   * the opposite direction to the ending node.
+   *
+   * @param start the index of the starting cell
+   * @param end   the index of the ending cell
+   * @param dir   the direction of the edge
+   */
+  private void assignEdge(int start, int end, Direction dir) {
+    int cols = this.board.getCols();
+    this.board.getNode(start / cols, start % cols).setConnectedDirection(dir);
+    this.board.getNode(end / cols, end % cols).setConnectedDirection(dir.opposite());
+  }
+
+  /**
+   * Takes nodes that have two connections and turns them into hallways. One connected rooms are NOT
+   * turned to hallways, this allows dead ends to be rooms.
+   */
+  private void convertToHallways() {
+    for (int r = 0; r < this.board.getRows(); r++) {
+      for (int c = 0; c < this.board.getCols(); c++) {
+        IWritableNode node = this.board.getNode(r, c);
+        if (node.getRoomType() == RoomType.EMPTY && node.getConnections().size() == 2) {
+          node.setRoomType(RoomType.HALLWAY);
+
+        }
+      }
+    }
+  }
+
+  /**
+   * Looks for special rooms, then once found it finds connect rooms, hallways do not count, and
+   * gives them the hint attributes that correspond to the special rooms, like smelling the wumpus.
+   */
+  private void applyAttributesToNeighbors() {
+    for (int r = 0; r < this.board.getRows(); r++) {
+      for (int c = 0; c < this.board.getCols(); c++) {
+        switch (this.board.getNode(r, c).getRoomType()) {
+          case WUMPUS:
+            for (IWritableNode node : this.getConnectedRooms(this.board.getNode(r, c))) {
+              node.addAttribute(RoomAttribute.NEXT_TO_WUMPUS);
+            }
+            break;
+          case PIT:
+          case SUPERBAT_AND_PIT:
+            for (IWritableNode node : this.getConnectedRooms(this.board.getNode(r, c))) {
+              node.addAttribute(RoomAttribute.NEXT_TO_PIT);
+            }
+            break;
+          default:
+            //neighbors of other room types get nothing.
+        }
+
+
+      }
+    }
+  }
+
+  /**
+   * Used to assign different {@link RoomType}s to the maze. Will attempt to assign the amount
+   * specified by the weight. However it will not overwrite other rooms so it may not be able to
+   * make as many as the weight specifies. Rooms are tried in a random order that is drawn one room
+   * at a time, so only the rooms that are tried cost anything.
+   *
+   * @param roomType         the type of room
+   * @param weightPercentage the amount of rooms this maze should contain in percentage value
+   * @param seed             the seed for the random class.
+   */
+  private void assignRoomTypeToMaze(RoomType roomType, int weightPercentage, long seed) {
+    int totalNodeAmount = (this.board.getRows() * this.board.getCols());
+    double workingWeight = 1.0 / ((double) weightPercentage / 100);
+    int roomsNeeded = totalNodeAmount / (int) workingWeight;
+    SparsePermutation cells =
+            new SparsePermutation(totalNodeAmount, new Random(seed * roomType.ordinal()));
+
+    while (roomsNeeded > 0 && cells.hasNext()) {
+      int cell = cells.next();
+      IWritableNode node =
+              this.board.getNode(cell / this.board.getCols(), cell % this.board.getCols());
+      if (node.getRoomType() == RoomType.EMPTY) {
+        node.setRoomType(roomType);
+        roomsNeeded--;
+      } else if (node.getRoomType() == roomType.getCounterPart()) {
+        node.setRoomType(RoomType.SUPERBAT_AND_PIT);
+        roomsNeeded--;
+      }
+    }
+  }
+
+  /**
+   * Takes a given node and returns a list of rooms that are connected, hallways do not count.
+   *
+   * @param node the node to find connections from
+   * @return the connected rooms
+   */
+  private List<IWritableNode> getConnectedRooms(IWritableNode node) {
+    List<IWritableNode> connectedRooms = new ArrayList<>();
+    for (Direction dir : node.getConnections()) {
+      Position connectedPos = this.connectedRoom(node.getPosition(), dir);
+      connectedRooms.add(this.board.getNode(connectedPos.getRow(), connectedPos.getCol()));
+
+    }
+
+    return connectedRooms;
+  }
+
+  /**
+   * Returns the room reached by leaving a room in a direction, going through any hallways on the
+   * way. Hallways are never walked, the room is looked up in the room graph.
+   *
+   * @param position  position of the room to leave.
+   * @param direction the direction to leave in, which must be connected.
+   * @return the position of the connected room that isnt a hallway
+   */
+  Position connectedRoom(Position position, Direction direction) {
+    int cols = this.board.getCols();
+    int room = this.roomGraph().destination(position.getRow() * cols + position.getCol(),
+            direction);
+    return new Position(room / cols, room % cols);
+  }
+
+  /**
+   * Returns the amount of hallways passed through when leaving a room in a direction. The hallways
+   * are not walked, the length is looked up in the room graph.
+   *
+   * @param position  position of the room to leave.
+   * @param direction the direction to leave in.
+   * @return the amount of hallways.
+   * @throws IllegalArgumentException if the room is not in the maze or is not connected in the
+   *                                  direction
+   */
+  public int hallwayLength(Position position, Direction direction) {
+    if (direction == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    int cell = this.cellOf(position);
+    if ((this.board.connectionMask(cell) & (1 << direction.ordinal())) == 0) {
+      throw new IllegalArgumentException("That room is not connected in that direction");
+    }
+    return this.roomGraph().hallwayLength(cell, direction);
+  }
+
+  /**
+   * Takes in a position and a direction and returns the position next to it in that direction,
+   * wrapping over the edges of the board.
+   *
+   * @param position  the position you start at.
+   * @param direction the direction you move to.
+   * @return the new position you are in.
+   */
+  Position neighbor(Position position, Direction direction) {
+    if (direction == null) {
+      throw new IllegalArgumentException("No null inputs");
+    }
+    int cols = this.board.getCols();
+    int cell = this.board.neighbor(position.getRow() * cols + position.getCol(), direction);
+    return new Position(cell / cols, cell % cols);
+  }
+}
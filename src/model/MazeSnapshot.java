@@ -0,0 +1,235 @@
+package model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Represents a maze as it was at one version, see {@link IMaze#snapshot()}. A snapshot never
+ * changes, even as the game goes on, so it can be read from any thread. Nothing is copied to make
+ * one: the rooms are read straight from the maze's layout and its visited rooms, which the maze
+ * stops writing to once they are in a snapshot. The nodes handed out are light views made on
+ * demand.
+ */
+public final class MazeSnapshot {
+  private final MazeLayout layout;
+  private final BitSet visited;
+  private final int[] playerCells;
+  //the rooms of every player but the first, sorted so a room can be searched for
+  private final int[] otherCells;
+  private final long version;
+
+  /**
+   * Creates a snapshot. The visited rooms must never be changed after this.
+   *
+   * @param layout      the layout of the maze
+   * @param visited     the visited rooms
+   * @param playerCells the index of the room each player is in, in player order
+   * @param version     the version of the maze
+   */
+  MazeSnapshot(MazeLayout layout, BitSet visited, int[] playerCells, long version) {
+    this.layout = layout;
+    this.visited = visited;
+    this.playerCells = playerCells;
+    this.otherCells = Arrays.copyOfRange(playerCells, 1, playerCells.length);
+    Arrays.sort(this.otherCells);
+    this.version = version;
+  }
+
+  /**
+   * Returns the version of the maze this is a snapshot of.
+   *
+   * @return the version.
+   */
+  public long getVersion() {
+    return this.version;
+  }
+
+  /**
+   * Returns the amount of rows in the maze.
+   *
+   * @return the rows.
+   */
+  public int getRows() {
+    return this.layout.getRows();
+  }
+
+  /**
+   * Returns the amount of cols in the maze.
+   *
+   * @return the cols.
+   */
+  public int getCols() {
+    return this.layout.getCols();
+  }
+
+  /**
+   * Returns the room at the given location.
+   *
+   * @param row the row location
+   * @param col the col location
+   * @return the room.
+   */
+  public IReadableNode getNode(int row, int col) {
+    if (row < 0 || row >= this.getRows() || col < 0 || col >= this.getCols()) {
+      throw new IllegalArgumentException("That room is not in the maze");
+    }
+    return new SnapshotNode(this, row, col);
+  }
+
+  /**
+   * Returns the rooms as a 2D list, like {@link IMaze#getNodes()}, without copying them. The nodes
+   * are made as they are read.
+   *
+   * @return the rooms.
+   */
+  public List<List<IReadableNode>> getNodes() {
+    return new AbstractList<>() {
+      @Override
+      public List<IReadableNode> get(int row) {
+        if (row < 0 || row >= MazeSnapshot.this.getRows()) {
+          throw new IndexOutOfBoundsException(row);
+        }
+        return new AbstractList<>() {
+          @Override
+          public IReadableNode get(int col) {
+            if (col < 0 || col >= MazeSnapshot.this.getCols()) {
+              throw new IndexOutOfBoundsException(col);
+            }
+            return MazeSnapshot.this.getNode(row, col);
+          }
+
+          @Override
+          public int size() {
+            return MazeSnapshot.this.getCols();
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return MazeSnapshot.this.getRows();
+      }
+    };
+  }
+
+  /**
+   * Returns where a player is.
+   *
+   * @param playerNum the number of the player, starting at 1
+   * @return the player's location.
+   */
+  public Position getPlayerLocation(int playerNum) {
+    if (playerNum < 1 || playerNum > this.playerCells.length) {
+      throw new IllegalArgumentException("There is no player with that number");
+    }
+    int cell = this.playerCells[playerNum - 1];
+    return new Position(cell / this.getCols(), cell % this.getCols());
+  }
+
+  /**
+   * A light view onto one room of a snapshot.
+   */
+  private static final class SnapshotNode implements IReadableNode {
+    private final MazeSnapshot snapshot;
+    private final int row;
+    private final int col;
+
+    /**
+     * Creates a view onto a room.
+     *
+     * @param snapshot the snapshot the room is in
+     * @param row      the row location
+     * @param col      the col location
+     */
+    SnapshotNode(MazeSnapshot snapshot, int row, int col) {
+      this.snapshot = snapshot;
+      this.row = row;
+      this.col = col;
+    }
+
+    /**
+     * Returns the index of the room.
+     *
+     * @return the index.
+     */
+    private int cell() {
+      return this.row * this.snapshot.getCols() + this.col;
+    }
+
+    @Override
+    public String debugPrint() {
+      return this.copy().debugPrint();
+    }
+
+    @Override
+    public String debugPrintEEdge() {
+      return this.copy().debugPrintEEdge();
+    }
+
+    @Override
+    public String debugPrintSEdge() {
+      return this.copy().debugPrintSEdge();
+    }
+
+    @Override
+    public List<Direction> getConnectedDirs() {
+      return this.snapshot.layout.getNode(this.row, this.col).getConnectedDirs();
+    }
+
+    @Override
+    public DirectionSet getConnections() {
+      return DirectionSet.of(this.snapshot.layout.connections(this.cell()));
+    }
+
+    @Override
+    public Position getPosition() {
+      return new Position(this.row, this.col);
+    }
+
+    @Override
+    public IReadableNode copy() {
+      return new ReadableNode(this.row, this.col, this.getConnectedDirs(), this.getRoomType(),
+              this.beenVisited(), this.attributes());
+    }
+
+    @Override
+    public RoomType getRoomType() {
+      return this.snapshot.layout.roomType(this.cell());
+    }
+
+    @Override
+    public boolean beenVisited() {
+      return this.snapshot.visited.get(this.cell());
+    }
+
+    @Override
+    public List<RoomAttribute> getRoomAttributes() {
+      return ReadableNode.attributeList(this.attributes());
+    }
+
+    /**
+     * Returns the attributes of the room, with the players in it, as a mask.
+     *
+     * @return the attribute mask.
+     */
+    private int attributes() {
+      int cell = this.cell();
+      int attributes = this.snapshot.layout.attributes(cell);
+      //player one is shown on their own, and everyone else is shown as player two
+      if (this.snapshot.playerCells[0] == cell) {
+        attributes |= 1 << RoomAttribute.HAS_PLAYER1.ordinal();
+      }
+      if (Arrays.binarySearch(this.snapshot.otherCells, cell) >= 0) {
+        attributes |= 1 << RoomAttribute.HAS_PLAYER2.ordinal();
+      }
+      return attributes;
+    }
+
+    @Override
+    public String toString() {
+      return "(" + this.row + "," + this.col + ")";
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package model;
+
+/**
+ * A board that keeps each room as its own {@link WritableNode} object.
+ */
+final class NodeBoard implements MazeBoard {
+  private final WritableNode[][] nodes;
+
+  /**
+   * Creates a board of empty nodes.
+   *
+   * @param rows the rows on the board
+   * @param cols the cols on the board
+   */
+  NodeBoard(int rows, int cols) {
+    this.nodes = new WritableNode[rows][cols];
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        this.nodes[r][c] = new WritableNode(r, c);
+      }
+    }
+  }
+
+  @Override
+  public int getRows() {
+    return this.nodes.length;
+  }
+
+  @Override
+  public int getCols() {
+    return this.nodes[0].length;
+  }
+
+  @Override
+  public IWritableNode getNode(int row, int col) {
+    return this.nodes[row][col];
+  }
+
+  @Override
+  public int connectionMask(int cell) {
+    int cols = this.getCols();
+    return this.nodes[cell / cols][cell % cols].connectionMask();
+  }
+
+  @Override
+  public int attributeMask(int cell) {
+    int cols = this.getCols();
+    return this.nodes[cell / cols][cell % cols].attributeMask();
+  }
+
+  @Override
+  public RoomType roomTypeOf(int cell) {
+    int cols = this.getCols();
+    return this.nodes[cell / cols][cell % cols].getRoomType();
+  }
+}
@@ -0,0 +1,122 @@
+package model;
+
+/**
+ * Represents which players are in which rooms, so a room can be asked who is in it without looking
+ * at every player. Only the rooms with players in them are kept, in a map from the room to its count
+ * and first player, so a game on a huge board does not pay for every room. The players in a room are
+ * linked to each other through two arrays indexed by player, so moving a player only changes a few
+ * ints. Players are numbered from 0 here, one less than their player number.
+ */
+final class Occupancy {
+  private static final int NONE = -1;
+
+  //the count of a room in the high half and its first player in the low half
+  private final IntLongMap rooms;
+  private final int[] next;
+  private final int[] previous;
+
+  /**
+   * Creates an index with every player in one room.
+   *
+   * @param players the amount of players
+   * @param start   the index of the room the players start in
+   */
+  Occupancy(int players, int start) {
+    this.rooms = new IntLongMap();
+    this.next = new int[players];
+    this.previous = new int[players];
+    for (int player = players - 1; player >= 0; player--) {
+      this.link(player, start);
+    }
+  }
+
+  /**
+   * Returns how many players are in a room.
+   *
+   * @param cell the index of the room
+   * @return the amount of players.
+   */
+  int count(int cell) {
+    return (int) (this.rooms.get(cell, 0) >>> 32);
+  }
+
+  /**
+   * Returns the first player in a room.
+   *
+   * @param cell the index of the room
+   * @return the player, or -1 if the room is empty.
+   */
+  int first(int cell) {
+    long room = this.rooms.get(cell, 0);
+    return room == 0 ? NONE : (int) room;
+  }
+
+  /**
+   * Returns the player after a player in the same room.
+   *
+   * @param player the player
+   * @return the next player, or -1 if it was the last.
+   */
+  int next(int player) {
+    return this.next[player];
+  }
+
+  /**
+   * Moves a player from one room to another.
+   *
+   * @param player the player
+   * @param from   the index of the room the player is in
+   * @param to     the index of the room the player goes to
+   */
+  void move(int player, int from, int to) {
+    if (from == to) {
+      return;
+    }
+    int before = this.previous[player];
+    int after = this.next[player];
+    long room = this.rooms.get(from, 0);
+    int count = (int) (room >>> 32) - 1;
+    if (count == 0) {
+      //an empty room is dropped so the map only ever holds the rooms with players in them
+      this.rooms.remove(from);
+    } else {
+      int head = before == NONE ? after : (int) room;
+      this.rooms.put(from, pack(count, head));
+    }
+    if (before != NONE) {
+      this.next[before] = after;
+    }
+    if (after != NONE) {
+      this.previous[after] = before;
+    }
+    this.link(player, to);
+  }
+
+  /**
+   * Puts a player at the front of a room.
+   *
+   * @param player the player
+   * @param cell   the index of the room
+   */
+  private void link(int player, int cell) {
+    long room = this.rooms.get(cell, 0);
+    int head = room == 0 ? NONE : (int) room;
+    this.next[player] = head;
+    this.previous[player] = NONE;
+    if (head != NONE) {
+      this.previous[head] = player;
+    }
+    this.rooms.put(cell, pack((int) (room >>> 32) + 1, player));
+  }
+
+  /**
+   * Packs a room's count and first player into one long.
+   *
+   * @param count the amount of players in the room
+   * @param head  the first player in the room
+   * @return the packed room.
+   */
+  private static long pack(int count, int head) {
+    return ((long) count << 32) | (head & 0xFFFFFFFFL);
+  }
+}
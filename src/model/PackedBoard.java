@@ -0,0 +1,218 @@
+package model;
+
+import java.util.List;
+
+/**
+ * Represents a board that stores its rooms as packed bits rather than as objects. Each room's
+ * connections are a 4 bit mask with a bit for each {@link Direction}, its {@link RoomType} is stored
+ * as its ordinal, and its {@link RoomAttribute}s are a bit mask. Which rooms have been visited and
+ * who is in them belongs to each game, so it is not stored here and the rooms read as never
+ * visited. Nodes are handed out as light views onto the stored bits, made on demand. Rooms are
+ * numbered row * cols + col. Subclasses decide where the bits are kept.
+ */
+abstract class PackedBoard implements MazeBoard {
+  private static final RoomType[] ROOM_TYPES = RoomType.values();
+
+  private final int rows;
+  private final int cols;
+
+  /**
+   * Creates a board of the given size.
+   *
+   * @param rows the rows on the board
+   * @param cols the cols on the board
+   */
+  PackedBoard(int rows, int cols) {
+    if ((long) rows * cols > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("The maze has too many rooms to be stored");
+    }
+    this.rows = rows;
+    this.cols = cols;
+  }
+
+  @Override
+  public int getRows() {
+    return this.rows;
+  }
+
+  @Override
+  public int getCols() {
+    return this.cols;
+  }
+
+  @Override
+  public IWritableNode getNode(int row, int col) {
+    return new PackedNode(this, row, col);
+  }
+
+  @Override
+  public int connectionMask(int cell) {
+    return this.connections(cell);
+  }
+
+  @Override
+  public int attributeMask(int cell) {
+    return this.attributes(cell);
+  }
+
+  @Override
+  public RoomType roomTypeOf(int cell) {
+    return ROOM_TYPES[this.roomType(cell)];
+  }
+
+  /**
+   * Returns the connection mask of a room.
+   *
+   * @param cell the index of the room
+   * @return the connection mask.
+   */
+  abstract int connections(int cell);
+
+  /**
+   * Sets the connection mask of a room.
+   *
+   * @param cell        the index of the room
+   * @param connections the connection mask
+   */
+  abstract void setConnections(int cell, int connections);
+
+  /**
+   * Returns the ordinal of the room type of a room.
+   *
+   * @param cell the index of the room
+   * @return the room type ordinal.
+   */
+  abstract int roomType(int cell);
+
+  /**
+   * Sets the ordinal of the room type of a room.
+   *
+   * @param cell     the index of the room
+   * @param roomType the room type ordinal
+   */
+  abstract void setRoomType(int cell, int roomType);
+
+  /**
+   * Returns the attribute mask of a room.
+   *
+   * @param cell the index of the room
+   * @return the attribute mask.
+   */
+  abstract int attributes(int cell);
+
+  /**
+   * Sets the attribute mask of a room.
+   *
+   * @param cell       the index of the room
+   * @param attributes the attribute mask
+   */
+  abstract void setAttributes(int cell, int attributes);
+
+  /**
+   * Represents a view of one room of a packed board. Reads and writes go straight to the board, so
+   * views are cheap to make and throw away.
+   */
+  private static final class PackedNode implements IWritableNode {
+    private final PackedBoard board;
+    private final int row;
+    private final int col;
+    private final int cell;
+
+    /**
+     * Creates a view of the room at the given location.
+     *
+     * @param board the board the room is on
+     * @param row   the row location
+     * @param col   the col location
+     */
+    private PackedNode(PackedBoard board, int row, int col) {
+      this.board = board;
+      this.row = row;
+      this.col = col;
+      this.cell = row * board.cols + col;
+    }
+
+    @Override
+    public void setConnectedDirection(Direction dir) {
+      if (dir == null) {
+        throw new IllegalArgumentException("no null inputs");
+      }
+      int connections = this.board.connections(this.cell);
+      if ((connections & (1 << dir.ordinal())) != 0) {
+        throw new IllegalArgumentException("Already has an edge for this position");
+      }
+      this.board.setConnections(this.cell, connections | (1 << dir.ordinal()));
+    }
+
+    @Override
+    public void setRoomType(RoomType roomType) {
+      if (roomType == null) {
+        throw new IllegalArgumentException("no null inputs");
+      }
+      this.board.setRoomType(this.cell, roomType.ordinal());
+    }
+
+    @Override
+    public void addAttribute(RoomAttribute attribute) {
+      this.board.setAttributes(this.cell,
+              this.board.attributes(this.cell) | (1 << attribute.ordinal()));
+    }
+
+    @Override
+    public List<Direction> getConnectedDirs() {
+      return List.copyOf(this.getConnections());
+    }
+
+    @Override
+    public DirectionSet getConnections() {
+      return DirectionSet.of(this.board.connections(this.cell));
+    }
+
+    @Override
+    public Position getPosition() {
+      return new Position(this.row, this.col);
+    }
+
+    @Override
+    public IReadableNode copy() {
+      return new ReadableNode(this.row, this.col, this.getConnectedDirs(), this.getRoomType(),
+              this.beenVisited(), this.board.attributes(this.cell));
+    }
+
+    @Override
+    public RoomType getRoomType() {
+      return ROOM_TYPES[this.board.roomType(this.cell)];
+    }
+
+    @Override
+    public boolean beenVisited() {
+      return false;
+    }
+
+    @Override
+    public List<RoomAttribute> getRoomAttributes() {
+      return ReadableNode.attributeList(this.board.attributes(this.cell));
+    }
+
+    //the debug prints are only used to print whole mazes, so they go through a full copy
+    @Override
+    public String debugPrint() {
+      return this.copy().debugPrint();
+    }
+
+    @Override
+    public String debugPrintEEdge() {
+      return this.copy().debugPrintEEdge();
+    }
+
+    @Override
+    public String debugPrintSEdge() {
+      return this.copy().debugPrintSEdge();
+    }
+
+    @Override
+    public String toString() {
+      return "(" + this.row + "," + this.col + ")";
+    }
+  }
+}
@@ -7,75 +7,59 @@ import java.util.List;
  * Represents a player in the maze game. Not accessable outside the model package. Users should not
  * be able to obtain, or modify the player, as only the maze should be doing this. A player
  * traverses the maze and can collect and use gold. Players have no notion of the rooms they are in,
- * only the maze knows, the player just knows its location and gold stats.
+ * only the maze knows, the player just knows its location and gold stats. The location is kept as
+ * the index of the room, row * cols + col, so moving does not make any objects. The recent
+ * effects are kept as a mask with the bit for each effect's ordinal set, along with the order they
+ * happened in, three bits an effect.
  */
 final class Player {
-  private Position position;
+  private static final PlayerEffect[] EFFECTS = PlayerEffect.values();
+  //the effects that end the game for a player
+  private static final int OUT = (1 << PlayerEffect.NO_ARROWS.ordinal())
+          | (1 << PlayerEffect.SHOT_WUMPUS.ordinal())
+          | (1 << PlayerEffect.RAN_INTO_WUMPUS.ordinal())
+          | (1 << PlayerEffect.FELL_INTO_PIT.ordinal());
+
+  private int cell;
   private int arrowAmount;
-  private final List<PlayerEffect> recentEffects;
+  private int effects;
+  //each effect's ordinal plus one, with the first effect in the lowest bits
+  private int effectOrder;
   private final int playerNum;
 
 
   /**
    * Creates a player at the specified location.
    *
-   * @param row        the row the player starts at.
-   * @param col        the col the player starts at.
+   * @param cell       the index of the room the player starts in.
    * @param arrowCount the amount of arrows the player starts with.
    * @param playerNum  the number identifier for the player
    */
-  Player(int row, int col, int arrowCount, int playerNum) {
-    this.position = new Position(row, col);
+  Player(int cell, int arrowCount, int playerNum) {
+    this.cell = cell;
     this.arrowAmount = arrowCount;
-    this.recentEffects = new ArrayList<>();
+    this.effects = 0;
+    this.effectOrder = 0;
     this.playerNum = playerNum;
 
   }
 
   /**
-   * Gets the current position of the player.
+   * Gets the index of the room the player is in.
    *
-   * @return the position of the player.
+   * @return the room the player is in.
    */
-  Position getPosition() {
-    return this.position.getPosition();
+  int getCell() {
+    return this.cell;
   }
 
   /**
-   * Sets the position of the player. Will be used in a later iteration when the player can be
-   * teleported.
+   * Puts the player in a room, after moving or being teleported.
    *
-   * @param row the row to go to.
-   * @param col the col to go to.
+   * @param cell the index of the room to go to.
    */
-  void setPosition(int row, int col) {
-    this.position = new Position(row, col);
-
-  }
-
-  /**
-   * Moves the players position in the specified direction.
-   *
-   * @param dir the direction for the player to move.
-   */
-  void move(Direction dir) {
-    switch (dir) {
-      case EAST:
-        this.position = new Position(this.position.getRow(), this.position.getCol() + 1);
-        return;
-      case WEST:
-        this.position = new Position(this.position.getRow(), this.position.getCol() - 1);
-        return;
-      case SOUTH:
-        this.position = new Position(this.position.getRow() + 1, this.position.getCol());
-        return;
-      case NORTH:
-        this.position = new Position(this.position.getRow() - 1, this.position.getCol());
-        return;
-      default:
-        throw new IllegalArgumentException("No null inputs");
-    }
-
+  void setCell(int cell) {
+    this.cell = cell;
   }
 
   /**
@@ -100,14 +84,38 @@ final class Player {
    * @param effect the effect to add
    */
   void addEffect(PlayerEffect effect) {
-    this.recentEffects.add(effect);
+    int bit = 1 << effect.ordinal();
+    if ((this.effects & bit) == 0) {
+      this.effectOrder |= (effect.ordinal() + 1) << (3 * Integer.bitCount(this.effects));
+      this.effects |= bit;
+    }
+  }
+
+  /**
+   * Checks if the player has an effect, without copying the effects.
+   *
+   * @param effect the effect to look for
+   * @return if the player has it.
+   */
+  boolean hasEffect(PlayerEffect effect) {
+    return (this.effects & (1 << effect.ordinal())) != 0;
+  }
+
+  /**
+   * Checks if the player has an effect that ends the game for them, like falling into a pit.
+   *
+   * @return if the game is over for the player.
+   */
+  boolean isOut() {
+    return (this.effects & OUT) != 0;
   }
 
   /**
    * Clears the effects the player currently has.
    */
   void clearEffects() {
-    this.recentEffects.clear();
+    this.effects = 0;
+    this.effectOrder = 0;
   }
 
   /**
@@ -125,7 +133,31 @@ final class Player {
    * @return the effects.
    */
   List<PlayerEffect> getRecentEffects() {
-    return List.copyOf(this.recentEffects);
+    return effectList(this.effectOrder);
+  }
+
+  /**
+   * Returns the recent effects on the player packed in the order they happened, three bits an
+   * effect, see {@link #effectList(int)}.
+   *
+   * @return the packed effects.
+   */
+  int getEffectOrder() {
+    return this.effectOrder;
+  }
+
+  /**
+   * Turns packed effects into a list, in the order they happened.
+   *
+   * @param effectOrder the packed effects
+   * @return the effects.
+   */
+  static List<PlayerEffect> effectList(int effectOrder) {
+    List<PlayerEffect> effects = new ArrayList<>(3);
+    for (int order = effectOrder; order != 0; order >>>= 3) {
+      effects.add(EFFECTS[(order & 7) - 1]);
+    }
+    return List.copyOf(effects);
   }
 }
 
@@ -37,12 +37,12 @@ public class Position {
   }
 
   /**
-   * Returns the whole position.
+   * Returns the whole position. Positions never change, so this is the same position.
    *
    * @return the whole position.
    */
   public Position getPosition() {
-    return new Position(this.row, this.col);
+    return this;
   }
 
   @Override
@@ -62,6 +62,6 @@ public class Position {
 
   @Override
   public int hashCode() {
-    return Integer.hashCode(this.row) + Integer.hashCode(this.col);
+    return 31 * Integer.hashCode(this.row) + Integer.hashCode(this.col);
   }
 }
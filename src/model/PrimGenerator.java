@@ -0,0 +1,53 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Generates mazes with randomized Prim's algorithm. The maze grows out from a random room, each
+ * step joining a random room on its frontier to a random neighbor already in the maze. Gives mazes
+ * with many short dead ends.
+ */
+final class PrimGenerator extends AbstractTreeGenerator {
+  private static final byte OUTSIDE = 0;
+  private static final byte FRONTIER = 1;
+  private static final byte IN_MAZE = 2;
+
+  @Override
+  protected void carveTree(Carving carving, Random rand) {
+    byte[] state = new byte[carving.cells()];
+    int[] frontier = new int[carving.cells()];
+    int frontierSize = 0;
+    Direction[] options = new Direction[DIRECTIONS.length];
+
+    int cell = rand.nextInt(carving.cells());
+    while (true) {
+      state[cell] = IN_MAZE;
+      for (Direction dir : DIRECTIONS) {
+        int neighbor = carving.neighbor(cell, dir);
+        if (neighbor >= 0 && state[neighbor] == OUTSIDE) {
+          state[neighbor] = FRONTIER;
+          frontier[frontierSize] = neighbor;
+          frontierSize++;
+        }
+      }
+      if (frontierSize == 0) {
+        return;
+      }
+
+      int pick = rand.nextInt(frontierSize);
+      cell = frontier[pick];
+      frontierSize--;
+      frontier[pick] = frontier[frontierSize];
+
+      int optionCount = 0;
+      for (Direction dir : DIRECTIONS) {
+        int neighbor = carving.neighbor(cell, dir);
+        if (neighbor >= 0 && state[neighbor] == IN_MAZE) {
+          options[optionCount] = dir;
+          optionCount++;
+        }
+      }
+      carving.connect(cell, options[rand.nextInt(optionCount)]);
+    }
+  }
+}
@@ -1,7 +1,7 @@
 package model;
 
 import java.util.ArrayList;
-
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -9,11 +9,14 @@ import java.util.List;
  * player is there, have roomtypes, and know the directions they are connected in.
  */
 class ReadableNode implements IReadableNode {
+  private static final RoomAttribute[] ATTRIBUTES = RoomAttribute.values();
+
   protected final Position position;
   protected RoomType roomType;
   protected final List<Direction> connectedDirections;
-  protected boolean visited;
-  protected final List<RoomAttribute> attributes;
+  protected final boolean visited;
+  //the bit for each attribute's ordinal is set
+  protected int attributes;
 
   /**
    * Creates a readable node at the given position, with no connections and as an empty room.
@@ -22,7 +25,7 @@ class ReadableNode implements IReadableNode {
    * @param col the col location
    */
   ReadableNode(int row, int col) {
-    this(row, col, new ArrayList<>(), RoomType.EMPTY, false, new ArrayList<>());
+    this(row, col, new ArrayList<>(), RoomType.EMPTY, false, 0);
   }
 
   /**
@@ -33,9 +36,10 @@ class ReadableNode implements IReadableNode {
    * @param col                 the col location
    * @param connectedDirections the directions this is connected in.
    * @param roomType            the type of room this node is.
+   * @param attributes          the attributes as a mask with the bit for each ordinal set.
    */
   protected ReadableNode(int row, int col, List<Direction> connectedDirections,
-                         RoomType roomType, boolean visited, List<RoomAttribute> attributes) {
+                         RoomType roomType, boolean visited, int attributes) {
     this.position = new Position(row, col);
     this.roomType = roomType;
     this.connectedDirections = connectedDirections;
@@ -45,6 +49,45 @@ class ReadableNode implements IReadableNode {
 
   }
 
+  /**
+   * Returns the connections of this node as a mask with the bit for each connected direction's
+   * ordinal set, without copying the connections.
+   *
+   * @return the connection mask.
+   */
+  int connectionMask() {
+    int mask = 0;
+    for (int i = 0; i < this.connectedDirections.size(); i++) {
+      mask |= 1 << this.connectedDirections.get(i).ordinal();
+    }
+    return mask;
+  }
+
+  /**
+   * Returns the attributes of this node as a mask with the bit for each attribute's ordinal set.
+   *
+   * @return the attribute mask.
+   */
+  int attributeMask() {
+    return this.attributes;
+  }
+
+  /**
+   * Turns an attribute mask into a list of the attributes, in the order they are declared in.
+   *
+   * @param mask the attribute mask
+   * @return the attributes.
+   */
+  static List<RoomAttribute> attributeList(int mask) {
+    List<RoomAttribute> list = new ArrayList<>(Integer.bitCount(mask));
+    for (RoomAttribute attribute : ATTRIBUTES) {
+      if ((mask & (1 << attribute.ordinal())) != 0) {
+        list.add(attribute);
+      }
+    }
+    return Collections.unmodifiableList(list);
+  }
+
   @Override
   public String debugPrintEEdge() {
     if (this.connectedDirections.contains(Direction.EAST)) {
@@ -69,6 +112,11 @@ class ReadableNode implements IReadableNode {
     return List.copyOf(this.connectedDirections);
   }
 
+  @Override
+  public DirectionSet getConnections() {
+    return DirectionSet.of(this.connectionMask());
+  }
+
   @Override
   public Position getPosition() {
     return this.position.getPosition();
@@ -92,15 +140,15 @@ class ReadableNode implements IReadableNode {
 
   @Override
   public List<RoomAttribute> getRoomAttributes() {
-    return List.copyOf(this.attributes);
+    return attributeList(this.attributes);
   }
 
   @Override
   public String debugPrint() {
-    if (this.attributes.contains(RoomAttribute.HAS_PLAYER1)) {
+    if ((this.attributes & (1 << RoomAttribute.HAS_PLAYER1.ordinal())) != 0) {
       return "P";
     }
-    if (this.attributes.contains(RoomAttribute.HAS_PLAYER2)) {
+    if ((this.attributes & (1 << RoomAttribute.HAS_PLAYER2.ordinal())) != 0) {
       return "2";
     }
     switch (this.roomType) {
@@ -0,0 +1,139 @@
+package model;
+
+/**
+ * Represents the rooms of a board with the hallways between them contracted away. For every room
+ * and every direction out of it, the graph knows which room is reached by following the hallways in
+ * that direction, how many hallways are passed on the way and which direction the room is entered
+ * in, without walking them. Only exits that lead into a hallway are stored, an exit straight into
+ * another room is worked out from the board.
+ *
+ * <p>Exits are packed into a long, the destination in the low 32 bits, the direction it is entered
+ * in in the 2 bits above and the hallway length in the rest.
+ */
+final class RoomGraph {
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  private final MazeBoard board;
+  //one map per direction, from a room to its packed exit
+  private final IntLongMap[] exits;
+
+  /**
+   * Builds the graph for a board whose hallways have been assigned.
+   *
+   * @param board the board
+   */
+  RoomGraph(MazeBoard board) {
+    this.board = board;
+    this.exits = new IntLongMap[DIRECTIONS.length];
+    for (Direction dir : DIRECTIONS) {
+      this.exits[dir.ordinal()] = new IntLongMap();
+    }
+    for (int cell = 0; cell < board.getRows() * board.getCols(); cell++) {
+      if (this.isHallway(cell)) {
+        continue;
+      }
+      int connections = board.connectionMask(cell);
+      for (Direction dir : DIRECTIONS) {
+        if ((connections & (1 << dir.ordinal())) == 0) {
+          continue;
+        }
+        int next = this.board.neighbor(cell, dir);
+        if (this.isHallway(next)) {
+          this.exits[dir.ordinal()].put(cell, this.walk(next, dir));
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the room reached by leaving a room in a direction, going through any hallways.
+   *
+   * @param cell the index of the room to leave
+   * @param dir  the direction to leave in, which must be connected
+   * @return the index of the room reached.
+   */
+  int destination(int cell, Direction dir) {
+    return (int) this.exit(cell, dir);
+  }
+
+  /**
+   * Returns the amount of hallways passed through when leaving a room in a direction.
+   *
+   * @param cell the index of the room to leave
+   * @param dir  the direction to leave in, which must be connected
+   * @return the amount of hallways.
+   */
+  int hallwayLength(int cell, Direction dir) {
+    return (int) (this.exit(cell, dir) >>> 34);
+  }
+
+  /**
+   * Returns the direction the room reached is entered in when leaving a room in a direction. This
+   * is the direction of the last step taken, which is only different from the direction left in if
+   * the hallways turned.
+   *
+   * @param cell the index of the room to leave
+   * @param dir  the direction to leave in, which must be connected
+   * @return the direction the room reached is entered in.
+   */
+  Direction arrival(int cell, Direction dir) {
+    return DIRECTIONS[(int) (this.exit(cell, dir) >>> 32) & 3];
+  }
+
+  /**
+   * Returns the packed exit of a room in a direction.
+   *
+   * @param cell the index of the room to leave
+   * @param dir  the direction to leave in
+   * @return the packed exit.
+   */
+  private long exit(int cell, Direction dir) {
+    long exit = this.exits[dir.ordinal()].get(cell, -1);
+    if (exit != -1) {
+      return exit;
+    }
+    int next = this.board.neighbor(cell, dir);
+    //only rooms are indexed, leaving from inside a hallway has to walk it
+    return this.isHallway(next) ? this.walk(next, dir) : pack(next, dir, 0);
+  }
+
+  /**
+   * Walks through a chain of hallways until it reaches a room.
+   *
+   * @param cell the index of the first hallway
+   * @param dir  the direction the hallway was entered in
+   * @return the packed exit.
+   */
+  private long walk(int cell, Direction dir) {
+    long length = 0;
+    while (this.isHallway(cell)) {
+      int out = this.board.connectionMask(cell) & ~(1 << dir.opposite().ordinal());
+      dir = DIRECTIONS[Integer.numberOfTrailingZeros(out)];
+      cell = this.board.neighbor(cell, dir);
+      length++;
+    }
+    return pack(cell, dir, length);
+  }
+
+  /**
+   * Packs an exit into a long.
+   *
+   * @param destination the index of the room reached
+   * @param arrival     the direction the room is entered in
+   * @param length      the amount of hallways passed through
+   * @return the packed exit.
+   */
+  private static long pack(int destination, Direction arrival, long length) {
+    return (length << 34) | ((long) arrival.ordinal() << 32) | destination;
+  }
+
+  /**
+   * Checks if a cell is a hallway.
+   *
+   * @param cell the index of the cell
+   * @return if it is a hallway.
+   */
+  private boolean isHallway(int cell) {
+    return this.board.roomTypeOf(cell) == RoomType.HALLWAY;
+  }
+}
@@ -0,0 +1,22 @@
+package model;
+
+import java.io.IOException;
+
+/**
+ * Represents somewhere that rows of a maze can be sent to as they are generated, so that the whole
+ * maze never has to be held at once. A row is given as the connections of each of its cells, as a
+ * bit mask with a bit set for each connected {@link Direction}, 1 shifted left by the direction's
+ * ordinal.
+ */
+public interface RowSink {
+
+  /**
+   * Takes the next row of the maze. The array is reused for later rows, so it must be copied if it
+   * is kept after this returns.
+   *
+   * @param row         the number of the row
+   * @param connections the connections of each cell in the row
+   * @throws IOException if the row could not be written
+   */
+  void acceptRow(int row, byte[] connections) throws IOException;
+}
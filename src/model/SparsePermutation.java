@@ -0,0 +1,63 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Represents a random permutation of the numbers from 0 up to a size, drawn one number at a time.
+ * It runs a Fisher-Yates shuffle lazily, only the places that have been swapped are remembered, so
+ * drawing k numbers takes O(k) time and memory no matter how large the size is. The same seed always
+ * draws the numbers in the same order.
+ */
+final class SparsePermutation {
+  private final int size;
+  private final Random rand;
+  private int drawn;
+  //the numbers at the places that have been swapped, every other place still holds itself
+  private final IntLongMap swapped;
+
+  /**
+   * Creates a permutation of the numbers from 0 up to the size, exclusive.
+   *
+   * @param size the amount of numbers
+   * @param rand the random to shuffle with
+   */
+  SparsePermutation(int size, Random rand) {
+    if (size < 0) {
+      throw new IllegalArgumentException("The size cannot be negative");
+    }
+    if (rand == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    this.size = size;
+    this.rand = rand;
+    this.drawn = 0;
+    this.swapped = new IntLongMap();
+  }
+
+  /**
+   * Checks if there are numbers left to draw.
+   *
+   * @return if there are numbers left.
+   */
+  boolean hasNext() {
+    return this.drawn < this.size;
+  }
+
+  /**
+   * Draws the next number. This is the swap step of Fisher-Yates, a random place from the ones left
+   * is swapped into the next place and its number is returned.
+   *
+   * @return the next number.
+   */
+  int next() {
+    if (!this.hasNext()) {
+      throw new IllegalStateException("Every number has been drawn");
+    }
+    int swapWith = this.drawn + this.rand.nextInt(this.size - this.drawn);
+    int picked = (int) this.swapped.get(swapWith, swapWith);
+    this.swapped.put(swapWith, this.swapped.get(this.drawn, this.drawn));
+    this.drawn++;
+    return picked;
+  }
+
+}
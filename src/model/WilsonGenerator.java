@@ -0,0 +1,44 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * Generates mazes with Wilson's algorithm. Starting from a single room in the maze, a random walk
+ * is taken from each room not yet in the maze until it reaches the maze, and the walk with its
+ * loops erased is added. Picks evenly from every possible perfect maze.
+ */
+final class WilsonGenerator extends AbstractTreeGenerator {
+
+  @Override
+  protected void carveTree(Carving carving, Random rand) {
+    boolean[] inMaze = new boolean[carving.cells()];
+    //the direction the walk last left each cell in, walking over a loop overwrites it
+    byte[] walk = new byte[carving.cells()];
+    Direction[] options = new Direction[DIRECTIONS.length];
+
+    inMaze[rand.nextInt(carving.cells())] = true;
+    for (int start = 0; start < carving.cells(); start++) {
+      int cell = start;
+      while (!inMaze[cell]) {
+        int optionCount = 0;
+        for (Direction dir : DIRECTIONS) {
+          if (carving.neighbor(cell, dir) >= 0) {
+            options[optionCount] = dir;
+            optionCount++;
+          }
+        }
+        Direction dir = options[rand.nextInt(optionCount)];
+        walk[cell] = (byte) dir.ordinal();
+        cell = carving.neighbor(cell, dir);
+      }
+
+      cell = start;
+      while (!inMaze[cell]) {
+        Direction dir = DIRECTIONS[walk[cell]];
+        carving.connect(cell, dir);
+        inMaze[cell] = true;
+        cell = carving.neighbor(cell, dir);
+      }
+    }
+  }
+}
@@ -0,0 +1,334 @@
+package server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+
+import model.Direction;
+import model.IMaze;
+
+/**
+ * Serves games hosted by a {@link SessionManager} over TCP, using the {@link Protocol}. One thread
+ * waits on a {@link Selector} for every connection, reads and writes without blocking, and hands
+ * the commands to the sessions, so thousands of connections need no thread each. Responses are
+ * made on the sessions' threads, and passed back to the selector thread to be written.
+ */
+public final class GameServer implements AutoCloseable {
+  //big enough to read many small requests from a client at once
+  private static final int READ_BUFFER = 1024;
+  //how many connections can wait to be accepted, enough for load tests that connect all at once
+  private static final int BACKLOG = 4096;
+
+  private final SessionManager manager;
+  private final Supplier<IMaze> games;
+  private final Selector selector;
+  private final ServerSocketChannel listener;
+  //connections with responses waiting to be written, handed over from the sessions' threads
+  private final Queue<Connection> writable;
+  private final Thread thread;
+  private volatile boolean running;
+
+  /**
+   * Creates a server listening on an address. It does not take connections until started.
+   *
+   * @param manager the manager to host games with
+   * @param games   makes the game for each new session
+   * @param address the address to listen on, with a port of 0 for any free port
+   * @throws IOException if the address could not be listened on
+   */
+  public GameServer(SessionManager manager, Supplier<IMaze> games, InetSocketAddress address)
+          throws IOException {
+    if (manager == null || games == null || address == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    this.manager = manager;
+    this.games = games;
+    this.selector = Selector.open();
+    this.listener = ServerSocketChannel.open();
+    this.listener.bind(address, BACKLOG);
+    this.listener.configureBlocking(false);
+    this.listener.register(this.selector, SelectionKey.OP_ACCEPT);
+    this.writable = new ConcurrentLinkedQueue<>();
+    this.thread = new Thread(this::serve, "game-server");
+    this.thread.setDaemon(true);
+    this.running = false;
+  }
+
+  /**
+   * Returns the address the server is listening on.
+   *
+   * @return the address.
+   * @throws IOException if the address could not be found
+   */
+  public InetSocketAddress getAddress() throws IOException {
+    return (InetSocketAddress) this.listener.getLocalAddress();
+  }
+
+  /**
+   * Starts taking connections on a thread of the server's own.
+   */
+  public void start() {
+    this.running = true;
+    this.thread.start();
+  }
+
+  /**
+   * Stops the server and closes every connection. The sessions stay open in the manager.
+   */
+  @Override
+  public void close() throws IOException {
+    this.running = false;
+    this.selector.wakeup();
+    if (this.thread.isAlive()) {
+      try {
+        this.thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+    for (SelectionKey key : this.selector.keys()) {
+      key.channel().close();
+    }
+    this.selector.close();
+  }
+
+  /**
+   * Waits for connections to be ready and serves them until the server is closed.
+   */
+  private void serve() {
+    while (this.running) {
+      try {
+        this.selector.select();
+      } catch (IOException e) {
+        return;
+      }
+      Connection ready;
+      while ((ready = this.writable.poll()) != null) {
+        if (ready.key.isValid()) {
+          ready.key.interestOps(ready.key.interestOps() | SelectionKey.OP_WRITE);
+        }
+      }
+      Iterator<SelectionKey> keys = this.selector.selectedKeys().iterator();
+      while (keys.hasNext()) {
+        SelectionKey key = keys.next();
+        keys.remove();
+        try {
+          if (key.isAcceptable()) {
+            this.accept();
+          } else {
+            Connection connection = (Connection) key.attachment();
+            if (key.isReadable()) {
+              this.read(connection);
+            }
+            if (key.isValid() && key.isWritable()) {
+              this.write(connection);
+            }
+          }
+        } catch (IOException e) {
+          //one broken connection should not stop the others
+          if (key.channel() != this.listener) {
+            this.drop(key);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Takes every new connection that is waiting. A connection that can not be set up is closed, and
+   * the server keeps listening.
+   *
+   * @throws IOException if the server could not take connections
+   */
+  private void accept() throws IOException {
+    SocketChannel channel;
+    while ((channel = this.listener.accept()) != null) {
+      try {
+        channel.configureBlocking(false);
+        //responses are small and wanted straight away, so they should not wait to be bundled
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(this.selector, SelectionKey.OP_READ, connection);
+      } catch (IOException e) {
+        channel.close();
+      }
+    }
+  }
+
+  /**
+   * Reads what a connection has sent, and handles every whole request in it.
+   *
+   * @param connection the connection
+   * @throws IOException if the connection broke
+   */
+  private void read(Connection connection) throws IOException {
+    ByteBuffer in = connection.in;
+    if (connection.channel.read(in) == -1) {
+      this.drop(connection.key);
+      return;
+    }
+    in.flip();
+    while (in.remaining() >= Integer.BYTES) {
+      int length = in.getInt(in.position());
+      if (length < 1 || length > Protocol.MAX_REQUEST) {
+        this.drop(connection.key);
+        return;
+      }
+      if (in.remaining() < Integer.BYTES + length) {
+        break;
+      }
+      in.position(in.position() + Integer.BYTES);
+      int end = in.position() + length;
+      ByteBuffer request = in.slice(in.position(), length);
+      in.position(end);
+      this.respond(connection, this.handle(connection, request));
+    }
+    in.compact();
+  }
+
+  /**
+   * Writes as much of a connection's waiting responses as it will take.
+   *
+   * @param connection the connection
+   * @throws IOException if the connection broke
+   */
+  private void write(Connection connection) throws IOException {
+    ByteBuffer next;
+    while ((next = connection.out.peek()) != null) {
+      connection.channel.write(next);
+      if (next.hasRemaining()) {
+        return;
+      }
+      connection.out.poll();
+    }
+    //a response that comes in after this puts the connection back on the writable queue
+    connection.key.interestOps(SelectionKey.OP_READ);
+  }
+
+  /**
+   * Closes a connection.
+   *
+   * @param key the connection's key
+   */
+  private void drop(SelectionKey key) {
+    key.cancel();
+    try {
+      key.channel().close();
+    } catch (IOException e) {
+      //it is being thrown away anyway
+    }
+  }
+
+  /**
+   * Handles one request from a connection.
+   *
+   * @param connection the connection
+   * @param request    the request, starting at its op code
+   * @return a future with the response frame.
+   */
+  private CompletableFuture<ByteBuffer> handle(Connection connection, ByteBuffer request) {
+    try {
+      byte op = request.get();
+      if (op == Protocol.CREATE) {
+        connection.session = this.manager.create(this.games.get());
+        return CompletableFuture.completedFuture(Protocol.id(connection.session.getId()));
+      }
+      if (op == Protocol.RESUME) {
+        connection.session = this.manager.resume(request.getLong());
+        return connection.session.submit(game -> Protocol.state(game, game.playerNumTurn()));
+      }
+      GameSession session = connection.session;
+      if (session == null) {
+        throw new IllegalStateException("No game has been started");
+      }
+      switch (op) {
+        case Protocol.MOVE: {
+          Direction dir = Protocol.direction(request.get());
+          return session.submit(game -> {
+            int player = game.playerNumTurn();
+            return Protocol.state(game, player, game.tryMove(dir));
+          });
+        }
+        case Protocol.SHOOT: {
+          Direction dir = Protocol.direction(request.get());
+          int distance = request.getInt();
+          return session.submit(game -> {
+            int player = game.playerNumTurn();
+            return Protocol.state(game, player, game.tryShoot(dir, distance));
+          });
+        }
+        case Protocol.RESTART:
+          return session.restart(game -> Protocol.state(game, game.playerNumTurn()));
+        case Protocol.STATE:
+          return session.submit(game -> Protocol.state(game, game.playerNumTurn()));
+        case Protocol.CLOSE:
+          this.manager.close(session.getId());
+          connection.session = null;
+          return CompletableFuture.completedFuture(Protocol.ok());
+        default:
+          throw new IllegalArgumentException("That is not a request");
+      }
+    } catch (BufferUnderflowException e) {
+      return CompletableFuture.completedFuture(Protocol.error("The request is too short"));
+    } catch (RuntimeException e) {
+      return CompletableFuture.completedFuture(Protocol.error(e.getMessage()));
+    }
+  }
+
+  /**
+   * Sends a response once it is made, after every response before it on the connection.
+   *
+   * @param connection the connection
+   * @param response   the response
+   */
+  private void respond(Connection connection, CompletableFuture<ByteBuffer> response) {
+    CompletableFuture<ByteBuffer> frame = response.exceptionally(e -> Protocol.error(
+            (e instanceof CompletionException ? e.getCause() : e).getMessage()));
+    connection.sent = connection.sent.thenCombine(frame, (done, buffer) -> {
+      connection.out.add(buffer);
+      this.writable.add(connection);
+      this.selector.wakeup();
+      return null;
+    });
+  }
+
+  /**
+   * A client's connection, with what has been read from it and what is waiting to be written.
+   */
+  private static final class Connection {
+    private final SocketChannel channel;
+    private final ByteBuffer in;
+    private final Queue<ByteBuffer> out;
+    private SelectionKey key;
+    //the session the client is playing, only used on the selector thread
+    private GameSession session;
+    //done once every response so far has been queued, so responses go out in order
+    private CompletableFuture<Void> sent;
+
+    /**
+     * Creates a connection with nothing read or waiting.
+     *
+     * @param channel the channel to the client
+     */
+    Connection(SocketChannel channel) {
+      this.channel = channel;
+      this.in = ByteBuffer.allocate(READ_BUFFER);
+      this.out = new ConcurrentLinkedQueue<>();
+      this.key = null;
+      this.session = null;
+      this.sent = CompletableFuture.completedFuture(null);
+    }
+  }
+}
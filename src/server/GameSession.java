@@ -0,0 +1,247 @@
+package server;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import model.CommandStatus;
+import model.Direction;
+import model.IMaze;
+import model.MazeSnapshot;
+
+/**
+ * Represents one game hosted by a {@link SessionManager}. A game is not safe to use from more than
+ * one thread, so a session owns its game and runs commands on it one at a time, in the order they
+ * were submitted, from a mailbox. The mailbox is only run on the manager's threads while it has
+ * commands in it, so an idle session costs no thread at all, and many thousands of sessions can
+ * share a few threads.
+ */
+public final class GameSession {
+  //how many commands run before the session gives its thread to the other sessions
+  private static final int BATCH = 64;
+
+  private final long id;
+  //only changed by commands, which never run at once
+  private IMaze game;
+  private final Executor executor;
+  private final SessionMetrics metrics;
+  private final Queue<Command<?>> mailbox;
+  //how many commands are in the mailbox or running, the session is scheduled while this is not 0
+  private final AtomicInteger pending;
+  private volatile boolean closed;
+
+  /**
+   * Creates a session for a game.
+   *
+   * @param id       the id of the session
+   * @param game     the game, which only this session may use from now on
+   * @param executor the threads to run commands on
+   * @param metrics  where to record how long commands take
+   */
+  GameSession(long id, IMaze game, Executor executor, SessionMetrics metrics) {
+    this.id = id;
+    this.game = game;
+    this.executor = executor;
+    this.metrics = metrics;
+    this.mailbox = new ConcurrentLinkedQueue<>();
+    this.pending = new AtomicInteger();
+    this.closed = false;
+  }
+
+  /**
+   * Returns the id the session can be resumed with.
+   *
+   * @return the id.
+   */
+  public long getId() {
+    return this.id;
+  }
+
+  /**
+   * Checks if the session has been closed. A closed session takes no more commands.
+   *
+   * @return if the session is closed.
+   */
+  public boolean isClosed() {
+    return this.closed;
+  }
+
+  /**
+   * Runs a command on the game after every command submitted before it. The command runs on one of
+   * the manager's threads, and is the only thing using the game while it runs. If the command
+   * throws, the returned future completes with what it threw and the session carries on.
+   *
+   * @param command the command to run
+   * @param <T>     what the command returns
+   * @return a future with what the command returned.
+   * @throws IllegalStateException if the session is closed
+   */
+  public <T> CompletableFuture<T> submit(Function<IMaze, T> command) {
+    if (command == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    if (this.closed) {
+      throw new IllegalStateException("The session is closed");
+    }
+    Command<T> queued = new Command<>(command);
+    //only the command that finds the mailbox empty schedules it, so it never runs twice at once
+    boolean idle = this.pending.getAndIncrement() == 0;
+    this.mailbox.add(queued);
+    if (idle) {
+      this.schedule();
+    }
+    return queued.result;
+  }
+
+  /**
+   * Moves the player whose turn it is. A move the game does not take fails the future with an
+   * IllegalArgumentException saying why, the same message the server sends back.
+   *
+   * @param direction the direction to move
+   * @return a future with the game after the move.
+   */
+  public CompletableFuture<MazeSnapshot> move(Direction direction) {
+    return this.submit(game -> taken(game, game.tryMove(direction)));
+  }
+
+  /**
+   * Fires an arrow for the player whose turn it is. A shot the game does not take fails the future
+   * with an IllegalArgumentException saying why, the same message the server sends back.
+   *
+   * @param direction the direction to shoot
+   * @param distance  the distance to shoot
+   * @return a future with the game after the shot.
+   */
+  public CompletableFuture<MazeSnapshot> shoot(Direction direction, int distance) {
+    return this.submit(game -> taken(game, game.tryShoot(direction, distance)));
+  }
+
+  /**
+   * Returns the game after a move or shot, if the game took it.
+   *
+   * @param game   the game
+   * @param status whether the game took the move or shot
+   * @return the game.
+   * @throws IllegalArgumentException if the game did not take it
+   */
+  private static MazeSnapshot taken(IMaze game, CommandStatus status) {
+    if (status != CommandStatus.OK) {
+      throw new IllegalArgumentException(status.getMessage());
+    }
+    return game.snapshot();
+  }
+
+  /**
+   * Starts the game over on the same maze.
+   *
+   * @return a future with the new game.
+   */
+  public CompletableFuture<MazeSnapshot> restart() {
+    return this.restart(IMaze::snapshot);
+  }
+
+  /**
+   * Starts the game over on the same maze, then runs a command on the new game.
+   *
+   * @param then the command to run on the new game
+   * @param <T>  what the command returns
+   * @return a future with what the command returned.
+   */
+  <T> CompletableFuture<T> restart(Function<IMaze, T> then) {
+    return this.submit(game -> {
+      this.game = game.restart();
+      return then.apply(this.game);
+    });
+  }
+
+  /**
+   * Returns the game as it is after every command submitted so far.
+   *
+   * @return a future with the game.
+   */
+  public CompletableFuture<MazeSnapshot> snapshot() {
+    return this.submit(IMaze::snapshot);
+  }
+
+  /**
+   * Closes the session. Commands already submitted still run.
+   */
+  void close() {
+    this.closed = true;
+  }
+
+  /**
+   * Hands the mailbox to the executor to be run.
+   */
+  private void schedule() {
+    try {
+      this.executor.execute(this::drain);
+    } catch (RejectedExecutionException e) {
+      //the executor has shut down, so nothing left in the mailbox can ever run
+      this.closed = true;
+      Command<?> command;
+      while ((command = this.mailbox.poll()) != null) {
+        command.result.completeExceptionally(e);
+      }
+    }
+  }
+
+  /**
+   * Runs commands from the mailbox, stopping after a batch so other sessions get a turn.
+   */
+  private void drain() {
+    int ran = 0;
+    Command<?> command;
+    while (ran < BATCH && (command = this.mailbox.poll()) != null) {
+      command.run(this.game, this.metrics);
+      ran++;
+    }
+    //anything submitted while this was running is picked up by scheduling again
+    if (this.pending.addAndGet(-ran) != 0) {
+      this.schedule();
+    }
+  }
+
+  /**
+   * A command waiting in a mailbox, with the future its result goes to.
+   *
+   * @param <T> what the command returns
+   */
+  private static final class Command<T> {
+    private final Function<IMaze, T> action;
+    private final CompletableFuture<T> result;
+    private final long submitted;
+
+    /**
+     * Creates a command submitted now.
+     *
+     * @param action what to run on the game
+     */
+    Command(Function<IMaze, T> action) {
+      this.action = action;
+      this.result = new CompletableFuture<>();
+      this.submitted = System.nanoTime();
+    }
+
+    /**
+     * Runs the command and completes its future.
+     *
+     * @param game    the game to run on
+     * @param metrics where to record how long it took
+     */
+    void run(IMaze game, SessionMetrics metrics) {
+      try {
+        T value = this.action.apply(game);
+        metrics.record(System.nanoTime() - this.submitted, true);
+        this.result.complete(value);
+      } catch (RuntimeException e) {
+        metrics.record(System.nanoTime() - this.submitted, false);
+        this.result.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,165 @@
+package server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import model.CommandStatus;
+import model.Direction;
+import model.IMaze;
+import model.PlayerEffect;
+import model.Position;
+
+/**
+ * Describes the binary protocol spoken by a {@link GameServer}. Every message in either direction
+ * is a frame: a 4 byte big endian length, then that many bytes. A request's bytes are an op code
+ * followed by its arguments. A response's bytes are a status followed by its result. Responses are
+ * sent in the order their requests arrived, so a client can send many requests before reading.
+ *
+ * <p>Requests:
+ * <ul>
+ *   <li>{@link #CREATE}: starts a new game for the connection, and returns its session id as a
+ *   long.</li>
+ *   <li>{@link #RESUME}, session id as a long: uses an open session, and returns its state.</li>
+ *   <li>{@link #MOVE}, direction ordinal as a byte: moves, and returns the state.</li>
+ *   <li>{@link #SHOOT}, direction ordinal as a byte, distance as an int: shoots, and returns the
+ *   state.</li>
+ *   <li>{@link #RESTART}: starts the game over on the same maze, and returns the state.</li>
+ *   <li>{@link #STATE}: returns the state.</li>
+ *   <li>{@link #CLOSE}: closes the session, and returns nothing.</li>
+ * </ul>
+ *
+ * <p>A state is the game's version as a long, a byte that is 1 if the game is over, then the
+ * number of the player whose turn it is, their row, their col and their arrows as ints, then the
+ * number of the player who acted as an int, with a byte count of their recent effects followed by
+ * each effect's ordinal as a byte. The player who acted is the one who moved or shot, or the player
+ * whose turn it is for the other requests.
+ *
+ * <p>A failed request gets {@link #ERROR} followed by a UTF-8 message, and the connection carries
+ * on. A frame that is too long or empty is not a request, and the connection is closed.
+ */
+public final class Protocol {
+  public static final byte CREATE = 1;
+  public static final byte RESUME = 2;
+  public static final byte MOVE = 3;
+  public static final byte SHOOT = 4;
+  public static final byte RESTART = 5;
+  public static final byte STATE = 6;
+  public static final byte CLOSE = 7;
+
+  public static final byte OK = 0;
+  public static final byte ERROR = 1;
+
+  //the longest request, a resume, is an op code and a session id
+  static final int MAX_REQUEST = 1 + Long.BYTES;
+
+  private static final Direction[] DIRECTIONS = Direction.values();
+
+  /**
+   * The protocol only has constants and helpers.
+   */
+  private Protocol() {
+  }
+
+  /**
+   * Reads a direction sent as its ordinal.
+   *
+   * @param ordinal the ordinal
+   * @return the direction.
+   * @throws IllegalArgumentException if there is no direction with that ordinal
+   */
+  static Direction direction(byte ordinal) {
+    if (ordinal < 0 || ordinal >= DIRECTIONS.length) {
+      throw new IllegalArgumentException("That is not a direction");
+    }
+    return DIRECTIONS[ordinal];
+  }
+
+  /**
+   * Makes a response frame with the state of a game.
+   *
+   * @param game   the game
+   * @param player the number of the player who acted
+   * @return the frame, ready to be written.
+   */
+  static ByteBuffer state(IMaze game, int player) {
+    List<PlayerEffect> effects = game.getRecentEffects(player);
+    Position position = game.getPlayerLocation();
+    ByteBuffer frame = start(Long.BYTES + 1 + 5 * Integer.BYTES + 1 + effects.size());
+    frame.putLong(game.getVersion());
+    frame.put((byte) (game.isGameOver() ? 1 : 0));
+    frame.putInt(game.playerNumTurn());
+    frame.putInt(position.getRow());
+    frame.putInt(position.getCol());
+    frame.putInt(game.getArrowAmount());
+    frame.putInt(player);
+    frame.put((byte) effects.size());
+    for (PlayerEffect effect : effects) {
+      frame.put((byte) effect.ordinal());
+    }
+    return frame.flip();
+  }
+
+  /**
+   * Makes a response frame with the state of a game after a move or a shot, or an error saying why
+   * the game did not take it.
+   *
+   * @param game   the game
+   * @param player the number of the player who acted
+   * @param status whether the game took the move or shot
+   * @return the frame, ready to be written.
+   */
+  static ByteBuffer state(IMaze game, int player, CommandStatus status) {
+    if (status != CommandStatus.OK) {
+      return error(status.getMessage());
+    }
+    return state(game, player);
+  }
+
+  /**
+   * Makes a response frame with a session id.
+   *
+   * @param id the session id
+   * @return the frame, ready to be written.
+   */
+  static ByteBuffer id(long id) {
+    return start(Long.BYTES).putLong(id).flip();
+  }
+
+  /**
+   * Makes a response frame with nothing in it.
+   *
+   * @return the frame, ready to be written.
+   */
+  static ByteBuffer ok() {
+    return start(0).flip();
+  }
+
+  /**
+   * Makes an error response frame.
+   *
+   * @param message what went wrong
+   * @return the frame, ready to be written.
+   */
+  static ByteBuffer error(String message) {
+    byte[] bytes = String.valueOf(message).getBytes(StandardCharsets.UTF_8);
+    ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + 1 + bytes.length);
+    frame.putInt(1 + bytes.length);
+    frame.put(ERROR);
+    frame.put(bytes);
+    return frame.flip();
+  }
+
+  /**
+   * Starts an OK response frame with room for a result.
+   *
+   * @param length the length of the result
+   * @return the frame, with the length and status already put.
+   */
+  private static ByteBuffer start(int length) {
+    ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + 1 + length);
+    frame.putInt(1 + length);
+    frame.put(OK);
+    return frame;
+  }
+}
@@ -0,0 +1,143 @@
+package server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import model.IMaze;
+
+/**
+ * Hosts many games at once in one process. Each game is run by a {@link GameSession}, which runs
+ * its commands one at a time on a small shared pool of threads, so tens of thousands of games can
+ * be hosted without a thread each. Sessions are created with a game, looked up again by id, and
+ * closed when they are done. The manager records the throughput and latency of every command in
+ * its {@link SessionMetrics}.
+ */
+public final class SessionManager implements AutoCloseable {
+  private final Executor executor;
+  //the pool the manager made itself, which it shuts down when closed, or null
+  private final ExecutorService ownPool;
+  private final Map<Long, GameSession> sessions;
+  private final AtomicLong nextId;
+  private final SessionMetrics metrics;
+
+  /**
+   * Creates a manager that runs games on a pool with a thread for each processor.
+   */
+  public SessionManager() {
+    this(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+      Thread thread = new Thread(task, "game-session");
+      thread.setDaemon(true);
+      return thread;
+    }), true);
+  }
+
+  /**
+   * Creates a manager that runs games on the given threads. The executor is not shut down when the
+   * manager is closed.
+   *
+   * @param executor the threads to run games on
+   */
+  public SessionManager(Executor executor) {
+    this(executor, false);
+  }
+
+  /**
+   * Creates a manager.
+   *
+   * @param executor the threads to run games on
+   * @param owned    if the manager made the executor and should shut it down
+   */
+  private SessionManager(Executor executor, boolean owned) {
+    if (executor == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    this.executor = executor;
+    this.ownPool = owned ? (ExecutorService) executor : null;
+    this.sessions = new ConcurrentHashMap<>();
+    this.nextId = new AtomicLong(1);
+    this.metrics = new SessionMetrics();
+  }
+
+  /**
+   * Starts hosting a game. The game must not be used by anything else from now on.
+   *
+   * @param game the game
+   * @return the session running the game.
+   */
+  public GameSession create(IMaze game) {
+    if (game == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    GameSession session =
+            new GameSession(this.nextId.getAndIncrement(), game, this.executor, this.metrics);
+    this.sessions.put(session.getId(), session);
+    return session;
+  }
+
+  /**
+   * Looks up a session that is still open, such as when a player comes back to a game.
+   *
+   * @param id the id of the session
+   * @return the session.
+   * @throws IllegalArgumentException if there is no open session with that id
+   */
+  public GameSession resume(long id) {
+    GameSession session = this.sessions.get(id);
+    if (session == null) {
+      throw new IllegalArgumentException("There is no session with that id");
+    }
+    return session;
+  }
+
+  /**
+   * Closes a session, so it takes no more commands and can no longer be resumed. Commands it was
+   * already given still run.
+   *
+   * @param id the id of the session
+   * @return if there was an open session with that id.
+   */
+  public boolean close(long id) {
+    GameSession session = this.sessions.remove(id);
+    if (session == null) {
+      return false;
+    }
+    session.close();
+    return true;
+  }
+
+  /**
+   * Returns how many sessions are open.
+   *
+   * @return the amount of sessions.
+   */
+  public int getSessionCount() {
+    return this.sessions.size();
+  }
+
+  /**
+   * Returns the throughput and latency of the commands run so far.
+   *
+   * @return the metrics.
+   */
+  public SessionMetrics getMetrics() {
+    return this.metrics;
+  }
+
+  /**
+   * Closes every session, and shuts down the threads if the manager made them. Commands already
+   * given to sessions still run.
+   */
+  @Override
+  public void close() {
+    for (Long id : this.sessions.keySet()) {
+      this.close(id);
+    }
+    if (this.ownPool != null) {
+      this.ownPool.shutdown();
+    }
+  }
+}
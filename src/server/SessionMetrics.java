@@ -0,0 +1,126 @@
+package server;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents the throughput and latency of the commands run by a {@link SessionManager}. The
+ * latency of a command is the time from when it was submitted to when it finished, so it includes
+ * the time spent waiting behind the session's other commands. Latencies are counted in buckets by
+ * their highest set bit, so percentiles are accurate to within a factor of two, and recording one
+ * never allocates or takes a lock.
+ */
+public final class SessionMetrics {
+  private final long started;
+  private final LongAdder completed;
+  private final LongAdder failed;
+  private final LongAdder totalLatency;
+  private final LongAccumulator maxLatency;
+  //bucket i counts latencies with i significant bits
+  private final AtomicLongArray buckets;
+
+  /**
+   * Creates metrics with nothing recorded, starting the throughput clock now.
+   */
+  SessionMetrics() {
+    this.started = System.nanoTime();
+    this.completed = new LongAdder();
+    this.failed = new LongAdder();
+    this.totalLatency = new LongAdder();
+    this.maxLatency = new LongAccumulator(Math::max, 0);
+    this.buckets = new AtomicLongArray(Long.SIZE + 1);
+  }
+
+  /**
+   * Records a finished command.
+   *
+   * @param latency   how long the command took, in nanoseconds
+   * @param succeeded if the command finished without throwing
+   */
+  void record(long latency, boolean succeeded) {
+    latency = Math.max(0, latency);
+    this.completed.increment();
+    if (!succeeded) {
+      this.failed.increment();
+    }
+    this.totalLatency.add(latency);
+    this.maxLatency.accumulate(latency);
+    this.buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(latency));
+  }
+
+  /**
+   * Returns how many commands have finished, including ones that failed.
+   *
+   * @return the amount of commands.
+   */
+  public long getCommandsCompleted() {
+    return this.completed.sum();
+  }
+
+  /**
+   * Returns how many commands threw instead of finishing.
+   *
+   * @return the amount of failed commands.
+   */
+  public long getCommandsFailed() {
+    return this.failed.sum();
+  }
+
+  /**
+   * Returns the commands finished per second since the manager was made.
+   *
+   * @return the throughput.
+   */
+  public double getThroughput() {
+    long elapsed = Math.max(1, System.nanoTime() - this.started);
+    return this.completed.sum() * 1e9 / elapsed;
+  }
+
+  /**
+   * Returns the average latency of the finished commands.
+   *
+   * @return the average latency in nanoseconds, or zero if none have finished.
+   */
+  public long getAverageLatency() {
+    long count = this.completed.sum();
+    return count == 0 ? 0 : this.totalLatency.sum() / count;
+  }
+
+  /**
+   * Returns the longest latency of any finished command.
+   *
+   * @return the longest latency in nanoseconds.
+   */
+  public long getMaxLatency() {
+    return this.maxLatency.get();
+  }
+
+  /**
+   * Returns a latency that the given fraction of finished commands took no longer than. The answer
+   * is the top of a bucket, so it can be up to twice the true latency.
+   *
+   * @param fraction the fraction of commands, such as 0.99
+   * @return the latency in nanoseconds, or zero if none have finished.
+   */
+  public long getLatencyPercentile(double fraction) {
+    if (fraction < 0 || fraction > 1) {
+      throw new IllegalArgumentException("The fraction must be between 0 and 1");
+    }
+    long[] counts = new long[this.buckets.length()];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = this.buckets.get(i);
+      total += counts[i];
+    }
+    long wanted = (long) Math.ceil(fraction * total);
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= wanted && seen > 0) {
+        return i == Long.SIZE ? Long.MAX_VALUE : (1L << i) - 1;
+      }
+    }
+    return 0;
+  }
+}
@@ -0,0 +1,24 @@
+package simulation;
+
+import java.util.SplittableRandom;
+
+import model.CommandStatus;
+import model.IMaze;
+
+/**
+ * Represents a strategy for playing hunt the wumpus without a person, for the
+ * {@link SimulationEngine} to test. An agent plays one game at a time, and a new agent is made for
+ * every game, so an agent can remember what it has seen.
+ */
+public interface Agent {
+
+  /**
+   * Takes the turn of the player whose turn it is, by making one move or shot with
+   * {@link IMaze#tryMove} or {@link IMaze#tryShoot}.
+   *
+   * @param game   the game being played
+   * @param random the randomness to use, which is the same every time the game is run
+   * @return the status of the move or shot, so a turn the game did not take is not counted.
+   */
+  CommandStatus takeTurn(IMaze game, SplittableRandom random);
+}
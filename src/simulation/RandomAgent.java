@@ -0,0 +1,28 @@
+package simulation;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import model.CommandStatus;
+import model.Direction;
+import model.IMaze;
+import model.RoomAttribute;
+
+/**
+ * An agent that wanders the maze at random, and shoots one room away in a random direction when it
+ * smells the wumpus. It is a baseline to compare smarter agents against.
+ */
+public final class RandomAgent implements Agent {
+
+  @Override
+  public CommandStatus takeTurn(IMaze game, SplittableRandom random) {
+    List<Direction> moves = game.possiblePlayerMoves();
+    Direction dir = moves.get(random.nextInt(moves.size()));
+    //only the current room is read, a snapshot would copy the visited rooms on the next move
+    if (game.getNode(game.getPlayerLocation()).getRoomAttributes()
+            .contains(RoomAttribute.NEXT_TO_WUMPUS)) {
+      return game.tryShoot(dir, 1);
+    }
+    return game.tryMove(dir);
+  }
+}
@@ -0,0 +1,156 @@
+package simulation;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+import model.CommandStatus;
+import model.IMaze;
+import model.MazeBuilder;
+import model.PlayerEffect;
+
+/**
+ * Runs huge numbers of games without a view, to see how well an {@link Agent} plays. Game i of a
+ * run is played on the maze built from the first seed plus i, so a run always has the same
+ * results. The range of games is split in half until the pieces are small, and the pieces are run
+ * on a work stealing {@link ForkJoinPool}. Each piece keeps its own report and the reports are
+ * merged as the pieces finish, so the threads share nothing while playing and the run scales with
+ * the cores.
+ */
+public final class SimulationEngine {
+  //few enough games in a piece to spread the work out, and enough that splitting is cheap
+  private static final long PIECE = 32;
+  //an agent whose commands are rejected this many times in a row is stuck, and its game is stopped
+  private static final int MAX_REJECTED = 64;
+
+  private final ForkJoinPool pool;
+
+  /**
+   * Creates an engine that runs on the common pool.
+   */
+  public SimulationEngine() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Creates an engine that runs on the given pool.
+   *
+   * @param pool the pool to run games on
+   */
+  public SimulationEngine(ForkJoinPool pool) {
+    if (pool == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    this.pool = pool;
+  }
+
+  /**
+   * Runs games and totals up how they went. The builder must not be changed while this runs, and
+   * must not have a storage file.
+   *
+   * @param builder   the settings of the mazes to play, other than the seed
+   * @param firstSeed the seed of the first game
+   * @param games     how many games to play
+   * @param agents    makes a new agent for each game
+   * @param maxTurns  the most turns a game can take before it is stopped, only moves and shots the
+   *                  game takes count as turns
+   * @return the totals.
+   */
+  public SimulationReport run(MazeBuilder builder, long firstSeed, long games,
+                              Supplier<? extends Agent> agents, int maxTurns) {
+    if (builder == null || agents == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    if (games < 0 || maxTurns < 1) {
+      throw new IllegalArgumentException("Must play a positive amount of games and turns");
+    }
+    return this.pool.invoke(new Games(builder, firstSeed, 0, games, agents, maxTurns));
+  }
+
+  /**
+   * Plays one game and adds it to a report. The game is stopped once it has taken the most turns,
+   * or once the agent has had too many commands in a row rejected.
+   *
+   * @param builder  the settings of the maze
+   * @param seed     the seed of the maze
+   * @param agent    the agent to play
+   * @param maxTurns the most turns the game can take, not counting rejected commands
+   * @param report   the report to add the game to
+   */
+  private static void play(MazeBuilder builder, long seed, Agent agent, int maxTurns,
+                           SimulationReport report) {
+    IMaze game = builder.buildLayout(seed).newGame();
+    //the agent's randomness comes from the seed too, but is not the same numbers as the maze's
+    SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+    long turns = 0;
+    int rejected = 0;
+    while (turns < maxTurns && rejected < MAX_REJECTED && !game.isGameOver()) {
+      if (agent.takeTurn(game, random) == CommandStatus.OK) {
+        turns++;
+        rejected = 0;
+      } else {
+        rejected++;
+      }
+    }
+    List<List<PlayerEffect>> effects = game.getRecentEffects();
+    boolean won = false;
+    for (List<PlayerEffect> player : effects) {
+      won |= player.contains(PlayerEffect.SHOT_WUMPUS);
+    }
+    report.record(won, !game.isGameOver(), turns, effects);
+  }
+
+  /**
+   * A range of games, which is split in half until it is small enough to play.
+   */
+  private static final class Games extends RecursiveTask<SimulationReport> {
+    private static final long serialVersionUID = 1L;
+
+    private final MazeBuilder builder;
+    private final long firstSeed;
+    private final long start;
+    private final long end;
+    private final Supplier<? extends Agent> agents;
+    private final int maxTurns;
+
+    /**
+     * Creates a range of games.
+     *
+     * @param builder   the settings of the mazes
+     * @param firstSeed the seed of the first game of the whole run
+     * @param start     the first game in the range, inclusive
+     * @param end       the last game in the range, exclusive
+     * @param agents    makes a new agent for each game
+     * @param maxTurns  the most turns a game can take, not counting rejected commands
+     */
+    Games(MazeBuilder builder, long firstSeed, long start, long end,
+          Supplier<? extends Agent> agents, int maxTurns) {
+      this.builder = builder;
+      this.firstSeed = firstSeed;
+      this.start = start;
+      this.end = end;
+      this.agents = agents;
+      this.maxTurns = maxTurns;
+    }
+
+    @Override
+    protected SimulationReport compute() {
+      if (this.end - this.start <= PIECE) {
+        SimulationReport report = new SimulationReport();
+        for (long i = this.start; i < this.end; i++) {
+          play(this.builder, this.firstSeed + i, this.agents.get(), this.maxTurns, report);
+        }
+        return report;
+      }
+      long middle = this.start + (this.end - this.start) / 2;
+      Games left = new Games(this.builder, this.firstSeed, this.start, middle, this.agents,
+              this.maxTurns);
+      Games right = new Games(this.builder, this.firstSeed, middle, this.end, this.agents,
+              this.maxTurns);
+      left.fork();
+      return right.compute().merge(left.join());
+    }
+  }
+}
@@ -0,0 +1,178 @@
+package simulation;
+
+import java.util.List;
+
+import model.PlayerEffect;
+
+/**
+ * Represents the totals from running many games with the {@link SimulationEngine}: how many were
+ * won, how long they took and how players died. Each part of a run keeps its own report, and the
+ * reports are merged at the end, so the threads never share one while running.
+ */
+public final class SimulationReport {
+  private static final PlayerEffect[] EFFECTS = PlayerEffect.values();
+
+  private long games;
+  private long wins;
+  private long unfinished;
+  private long turns;
+  private long minTurns;
+  private long maxTurns;
+  //how many players went out from each effect, indexed by ordinal
+  private final long[] deaths;
+
+  /**
+   * Creates a report with no games in it.
+   */
+  SimulationReport() {
+    this.minTurns = Long.MAX_VALUE;
+    this.deaths = new long[EFFECTS.length];
+  }
+
+  /**
+   * Adds a finished game to the report.
+   *
+   * @param won     if a player shot the wumpus
+   * @param stopped if the game hit the turn limit before it was over
+   * @param turns   how many turns the game took
+   * @param effects the effects each player ended the game with
+   */
+  void record(boolean won, boolean stopped, long turns, List<List<PlayerEffect>> effects) {
+    this.games++;
+    if (won) {
+      this.wins++;
+    }
+    if (stopped) {
+      this.unfinished++;
+    }
+    this.turns += turns;
+    this.minTurns = Math.min(this.minTurns, turns);
+    this.maxTurns = Math.max(this.maxTurns, turns);
+    for (List<PlayerEffect> player : effects) {
+      for (PlayerEffect effect : player) {
+        switch (effect) {
+          case RAN_INTO_WUMPUS:
+          case FELL_INTO_PIT:
+          case NO_ARROWS:
+            this.deaths[effect.ordinal()]++;
+            break;
+          default:
+            //the other effects do not end the game for a player
+        }
+      }
+    }
+  }
+
+  /**
+   * Adds the games from another report to this one.
+   *
+   * @param other the other report
+   * @return this report.
+   */
+  SimulationReport merge(SimulationReport other) {
+    this.games += other.games;
+    this.wins += other.wins;
+    this.unfinished += other.unfinished;
+    this.turns += other.turns;
+    this.minTurns = Math.min(this.minTurns, other.minTurns);
+    this.maxTurns = Math.max(this.maxTurns, other.maxTurns);
+    for (int i = 0; i < this.deaths.length; i++) {
+      this.deaths[i] += other.deaths[i];
+    }
+    return this;
+  }
+
+  /**
+   * Returns how many games were run.
+   *
+   * @return the amount of games.
+   */
+  public long getGames() {
+    return this.games;
+  }
+
+  /**
+   * Returns how many games were won by shooting the wumpus.
+   *
+   * @return the amount of wins.
+   */
+  public long getWins() {
+    return this.wins;
+  }
+
+  /**
+   * Returns the fraction of games that were won.
+   *
+   * @return the win rate, or 0 if no games were run.
+   */
+  public double getWinRate() {
+    return this.games == 0 ? 0 : (double) this.wins / this.games;
+  }
+
+  /**
+   * Returns how many games were stopped at the turn limit before they were over.
+   *
+   * @return the amount of unfinished games.
+   */
+  public long getUnfinished() {
+    return this.unfinished;
+  }
+
+  /**
+   * Returns the total turns taken over every game.
+   *
+   * @return the total turns.
+   */
+  public long getTotalTurns() {
+    return this.turns;
+  }
+
+  /**
+   * Returns the average turns a game took.
+   *
+   * @return the average, or 0 if no games were run.
+   */
+  public double getAverageTurns() {
+    return this.games == 0 ? 0 : (double) this.turns / this.games;
+  }
+
+  /**
+   * Returns the fewest turns a game took.
+   *
+   * @return the fewest turns, or 0 if no games were run.
+   */
+  public long getMinTurns() {
+    return this.games == 0 ? 0 : this.minTurns;
+  }
+
+  /**
+   * Returns the most turns a game took.
+   *
+   * @return the most turns.
+   */
+  public long getMaxTurns() {
+    return this.maxTurns;
+  }
+
+  /**
+   * Returns how many players went out of a game from an effect, such as falling into a pit.
+   *
+   * @param cause the effect
+   * @return the amount of players, which is 0 for effects that do not end the game.
+   */
+  public long getDeaths(PlayerEffect cause) {
+    if (cause == null) {
+      throw new IllegalArgumentException("no null inputs");
+    }
+    return this.deaths[cause.ordinal()];
+  }
+
+  @Override
+  public String toString() {
+    return this.games + " games, " + this.wins + " won, " + this.unfinished + " unfinished, "
+            + String.format("%.2f", this.getAverageTurns()) + " turns on average, "
+            + this.getDeaths(PlayerEffect.RAN_INTO_WUMPUS) + " eaten, "
+            + this.getDeaths(PlayerEffect.FELL_INTO_PIT) + " fell, "
+            + this.getDeaths(PlayerEffect.NO_ARROWS) + " out of arrows";
+  }
+}
@@ -37,6 +37,14 @@ public interface IMazeView {
    */
   void setNodes(List<List<IReadableNode>> nodes);
 
+  /**
+   * Updates some of the nodes given to {@link #setNodes}, each given node replaces the node at its
+   * position. Used to pass on only the rooms that changed rather than every room.
+   *
+   * @param nodes the changed nodes.
+   */
+  void updateNodes(List<IReadableNode> nodes);
+
   /**
    * Sets the players position(Can be found in the nodes, but easier to be given directly).
    *
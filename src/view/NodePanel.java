@@ -49,8 +49,24 @@ final class NodePanel extends JPanel implements MouseListener {
    * @param nodes the nodes to display.
    */
   void setNodes(List<List<IReadableNode>> nodes) {
-    this.nodes = nodes;
+    //copies the rows so changed nodes can be swapped in later
+    this.nodes = new ArrayList<>();
+    for (List<IReadableNode> row : nodes) {
+      this.nodes.add(new ArrayList<>(row));
+    }
+
+  }
 
+  /**
+   * Replaces the displayed nodes at the positions of the given nodes.
+   *
+   * @param nodes the changed nodes.
+   */
+  void updateNodes(List<IReadableNode> nodes) {
+    for (IReadableNode node : nodes) {
+      Position pos = node.getPosition();
+      this.nodes.get(pos.getRow()).set(pos.getCol(), node);
+    }
   }
 
   /**
@@ -150,11 +166,10 @@ final class NodePanel extends JPanel implements MouseListener {
    * @throws IOException if the file closes.
    */
   private Image selectHallwayImage(IReadableNode node) throws IOException {
-    List<Direction> directions = new ArrayList<>(node.getConnectedDirs());
-    directions.sort(Comparator.comparingInt(Enum::ordinal));
     StringBuilder imageName = new StringBuilder();
     imageName.append("reasources/");
-    for (Direction dir : directions) {
+    //the set goes through the directions in order, which is the order of the image names
+    for (Direction dir : node.getConnections()) {
       imageName.append(dir.toString().charAt(0));
     }
     imageName.append(".png");
@@ -95,6 +95,11 @@ public class SwingMazeView extends JFrame implements IMazeView, KeyListener {
 
   }
 
+  @Override
+  public void updateNodes(List<IReadableNode> nodes) {
+    this.nodePanel.updateNodes(nodes);
+  }
+
   @Override
   public void setPlayerPos(Position pos) {
     //not used in this view type.
@@ -57,8 +57,20 @@ public class TextMazeView implements IMazeView {
 
   @Override
   public void setNodes(List<List<IReadableNode>> nodes) {
-    this.nodes = nodes;
+    //copies the rows so changed nodes can be swapped in later
+    this.nodes = new ArrayList<>();
+    for (List<IReadableNode> row : nodes) {
+      this.nodes.add(new ArrayList<>(row));
+    }
+
+  }
 
+  @Override
+  public void updateNodes(List<IReadableNode> nodes) {
+    for (IReadableNode node : nodes) {
+      Position pos = node.getPosition();
+      this.nodes.get(pos.getRow()).set(pos.getCol(), node);
+    }
   }
 
   @Override
@@ -0,0 +1,117 @@
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import model.ChannelRowSink;
+import model.Direction;
+import model.EllerGenerator;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the row streaming eller generator.
+ */
+public class EllerGeneratorTest {
+
+  private static final int NORTH = 1 << Direction.NORTH.ordinal();
+  private static final int SOUTH = 1 << Direction.SOUTH.ordinal();
+  private static final int EAST = 1 << Direction.EAST.ordinal();
+  private static final int WEST = 1 << Direction.WEST.ordinal();
+
+  private List<byte[]> generate(int rows, int cols, long seed) throws IOException {
+    List<byte[]> maze = new ArrayList<>();
+    new EllerGenerator(cols, seed).generate(rows, (row, connections) -> {
+      assertEquals(maze.size(), row);
+      maze.add(connections.clone());
+    });
+    return maze;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badCols() {
+    new EllerGenerator(0, 234);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tooSmall() throws IOException {
+    new EllerGenerator(1, 234).generate(1, (row, connections) -> { });
+  }
+
+  @Test
+  public void isPerfect() throws IOException {
+    int rows = 30;
+    int cols = 41;
+    List<byte[]> maze = this.generate(rows, cols, 234);
+    int edges = 0;
+    for (int r = 0; r < rows; r++) {
+      for (int c = 0; c < cols; c++) {
+        int cell = maze.get(r)[c];
+        //connections must match on both sides and never leave the board
+        assertEquals((cell & EAST) != 0, c < cols - 1 && (maze.get(r)[c + 1] & WEST) != 0);
+        assertEquals((cell & SOUTH) != 0, r < rows - 1 && (maze.get(r + 1)[c] & NORTH) != 0);
+        assertTrue(c > 0 || (cell & WEST) == 0);
+        assertTrue(r > 0 || (cell & NORTH) == 0);
+        edges += Integer.bitCount(cell & (EAST | SOUTH));
+      }
+    }
+    assertEquals(rows * cols - 1, edges);
+
+    //a tree with one less edge than cells is perfect if every cell can be reached
+    boolean[] seen = new boolean[rows * cols];
+    Deque<Integer> work = new ArrayDeque<>();
+    work.push(0);
+    seen[0] = true;
+    int reached = 0;
+    while (!work.isEmpty()) {
+      int cell = work.pop();
+      reached++;
+      int r = cell / cols;
+      int c = cell % cols;
+      int dirs = maze.get(r)[c];
+      int[] neighbors = {(dirs & NORTH) != 0 ? cell - cols : -1,
+          (dirs & SOUTH) != 0 ? cell + cols : -1,
+          (dirs & EAST) != 0 ? cell + 1 : -1, (dirs & WEST) != 0 ? cell - 1 : -1};
+      for (int neighbor : neighbors) {
+        if (neighbor >= 0 && !seen[neighbor]) {
+          seen[neighbor] = true;
+          work.push(neighbor);
+        }
+      }
+    }
+    assertEquals(rows * cols, reached);
+  }
+
+  @Test
+  public void seeded() throws IOException {
+    List<byte[]> first = this.generate(20, 20, 982);
+    List<byte[]> second = this.generate(20, 20, 982);
+    for (int r = 0; r < 20; r++) {
+      assertArrayEquals(first.get(r), second.get(r));
+    }
+  }
+
+  @Test
+  public void channelSink() throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new EllerGenerator(5, 325).generate(4, new ChannelRowSink(Channels.newChannel(out)));
+    assertEquals(4 * ChannelRowSink.bytesPerRow(5), out.size());
+
+    List<byte[]> maze = this.generate(4, 5, 325);
+    byte[] written = out.toByteArray();
+    for (int r = 0; r < 4; r++) {
+      for (int c = 0; c < 5; c++) {
+        int packed = written[r * 3 + c / 2] & 0xFF;
+        assertEquals(maze.get(r)[c], c % 2 == 0 ? packed & 0xF : packed >> 4);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,101 @@
+import org.junit.Test;
+
+import model.CommandStatus;
+import model.Direction;
+import model.IMaze;
+import model.MazeBuilder;
+import model.MazeLayout;
+import model.PlayerEffect;
+import model.Position;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests sharing a layout between games.
+ */
+public class MazeLayoutTest {
+
+  private MazeBuilder builder() {
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(8);
+    builder.setCols(8);
+    builder.setWrapping(true);
+    builder.setgRow(7);
+    builder.setgCol(7);
+    builder.setBatsPercentage(10);
+    builder.setPitsPercentage(10);
+    builder.setPlayerCount(2);
+    builder.setSeed(325);
+    return builder;
+  }
+
+  @Test
+  public void gamesMatchBuiltMaze() {
+    MazeLayout layout = this.builder().buildLayout();
+    assertEquals(this.builder().build().toString(), layout.newGame().toString());
+    assertEquals(8, layout.getRows());
+    assertEquals(8, layout.getCols());
+    assertEquals(325, layout.getSeed());
+  }
+
+  @Test
+  public void gamesAreSeparate() {
+    MazeLayout layout = this.builder().buildLayout();
+    IMaze first = layout.newGame();
+    IMaze second = layout.newGame();
+    String fresh = second.toString();
+    Position start = second.getPlayerLocation();
+
+    for (int i = 0; i < 6 && !first.isGameOver(); i++) {
+      first.movePlayer(first.possiblePlayerMoves().get(0));
+    }
+    assertNotEquals(fresh, first.toString());
+    assertEquals(fresh, second.toString());
+    assertEquals(start, second.getPlayerLocation());
+    assertFalse(second.isGameOver());
+    for (int r = 0; r < 8; r++) {
+      for (int c = 0; c < 8; c++) {
+        assertEquals(layout.newGame().getNodes().get(r).get(c).beenVisited(),
+                second.getNodes().get(r).get(c).beenVisited());
+      }
+    }
+  }
+
+
+  @Test
+  public void arrowHitDistanceKillsTheWumpus() {
+    //starting in the wumpus's row of an open wrapping maze, east and west both reach it
+    MazeBuilder builder = this.builder();
+    builder.setsRow(7);
+    builder.setsCol(0);
+    MazeLayout layout = builder.buildLayout();
+    int hits = 0;
+    for (Direction dir : Direction.values()) {
+      IMaze game = layout.newGame();
+      long distance = layout.arrowHitDistance(game.getPlayerLocation(), dir);
+      if (distance == 0) {
+        continue;
+      }
+      assertEquals(CommandStatus.OK, game.tryShoot(dir, (int) distance));
+      assertTrue(game.getRecentEffects().get(0).contains(PlayerEffect.SHOT_WUMPUS));
+      hits++;
+    }
+    assertEquals(2, hits);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void arrowHitDistanceOutsideTheMaze() {
+    this.builder().buildLayout().arrowHitDistance(new Position(8, 0), Direction.EAST);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void hallwayLengthNeedsAConnection() {
+    MazeBuilder builder = this.builder();
+    builder.setWrapping(false);
+    //the top left corner of a board without wrapping has no way north
+    builder.buildLayout().hallwayLength(new Position(0, 0), Direction.NORTH);
+  }
+}
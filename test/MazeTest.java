@@ -4,19 +4,27 @@ import org.junit.Before;
 import org.junit.Test;
 
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 
+import model.CommandBatch;
+import model.CommandResult;
+import model.CommandStatus;
 import model.Direction;
 import model.IMaze;
 import model.IReadableNode;
 import model.Maze;
+import model.MazeSnapshot;
 import model.PlayerEffect;
 import model.Position;
+import model.RoomAttribute;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -333,148 +341,138 @@ public class MazeTest {
   public void badAndPitTesting() {
     IMaze m = new Maze(10, 10, 90, true, 0, 0, 9, 9, 20, 10, 982, 2);
 
-    assertEquals("P-0-0-B-0 B +-+-0-0-\n" +
+    assertEquals("P-U-0-0-U 0 +-+-B-U-\n" +
         "| | | |         | | \n" +
-        "B 0 #-0-+ U +-+-0-0 \n" +
+        "B 0 0-0-+ 0 +-+-0-B \n" +
         "    | | | | |     | \n" +
-        "+-+-+ B-U-U-0-0 +-0-\n" +
+        "+-+-+ B-0-0-B-B +-B-\n" +
         "      |   |     |   \n" +
-        "B U-0-0-+-B-0-0 B +-\n" +
+        "U #-0-0-+-0-0-B B +-\n" +
         "    |     | |     | \n" +
-        "+-+ +-B 0-U-B +-+ +-\n" +
+        "+-+ +-B B-0-# +-+ +-\n" +
         "  |         | | |   \n" +
-        "B +-#-0-0 +-0-0-B-0-\n" +
+        "B +-U-B-0 +-0-B-B-U-\n" +
         "    | |   | |     | \n" +
-        "#-+-B +-+-0-+ +-+-+ \n" +
+        "0-+-0 +-+-0-+ +-+-+ \n" +
         "    |         |     \n" +
-        "+-+ U +-+ +-B-0-+ B-\n" +
+        "+-+ 0 +-+ +-B-B-+ 0-\n" +
         "  |   | | | | | |   \n" +
-        "+-+ +-+ 0-B-+ + B +-\n" +
+        "+-+ +-+ U-0-+ + U +-\n" +
         "    |   |     |   | \n" +
-        "U-+ +-0 +-+ B +-0-G \n" +
+        "0-+ +-0 +-+ B +-0-G \n" +
         "  |       | |   |   \n", m.toString());
 
-    m.movePlayer(Direction.SOUTH);
+    m.movePlayer(Direction.EAST);
 
-    assertEquals("S-0-0-B-0 B +-+-0-0-\n" +
+    assertEquals("S-P-0-0-U 0 +-+-B-U-\n" +
         "| | | |         | | \n" +
-        "B 0 #-0-+ U +-+-0-0 \n" +
+        "B 0 0-0-+ 0 +-+-0-B \n" +
         "    | | | | |     | \n" +
-        "+-+-+ B-U-U-0-0 +-0-\n" +
+        "+-+-+ B-0-0-B-B +-B-\n" +
         "      |   |     |   \n" +
-        "B P-0-0-+-B-0-0 B +-\n" +
+        "U #-0-0-+-0-0-B B +-\n" +
         "    |     | |     | \n" +
-        "+-+ +-B 0-U-B +-+ +-\n" +
+        "+-+ +-B B-0-# +-+ +-\n" +
         "  |         | | |   \n" +
-        "B +-#-0-0 +-0-0-B-0-\n" +
+        "B +-U-B-0 +-0-B-B-U-\n" +
         "    | |   | |     | \n" +
-        "#-+-B +-+-0-+ +-+-+ \n" +
+        "0-+-0 +-+-0-+ +-+-+ \n" +
         "    |         |     \n" +
-        "+-+ U +-+ +-B-0-+ B-\n" +
+        "+-+ 0 +-+ +-B-B-+ 0-\n" +
         "  |   | | | | | |   \n" +
-        "+-+ +-+ 0-B-+ + B +-\n" +
+        "+-+ +-+ U-0-+ + U +-\n" +
         "    |   |     |   | \n" +
-        "U-+ +-0 +-+ B +-0-G \n" +
+        "0-+ +-0 +-+ B +-0-G \n" +
         "  |       | |   |   \n", m.toString());
 
+    assertEquals(Arrays.asList(PlayerEffect.FELL_INTO_PIT), m.getRecentEffects().get(0));
     assertTrue(m.isGameOver());
 
   }
 
   @Test
   public void batTesting2() {
-    IMaze m = new Maze(6, 6, 20, true, 0, 0, 5, 5, 30, 0, 982, 2);
-    assertEquals("P-+ 0-0 0 + \n" +
+    IMaze m = new Maze(6, 6, 20, true, 0, 0, 5, 5, 30, 0, 994, 2);
+    assertEquals("P-+ +-B + 0-\n" +
+        "|     | | | \n" +
+        "B-0-B-0-B-0-\n" +
         "| | | | | | \n" +
-        "0-0-B-B B-B-\n" +
-        "  | | | | | \n" +
-        "B 0-0 0-B B \n" +
-        "| | | | |   \n" +
-        "0-B-B-0-0-B-\n" +
-        "  |   |   | \n" +
-        "+-0-0-B-+ + \n" +
-        "| | |   | | \n" +
-        "B-0-0-+ +-G-\n" +
-        "|   | |   | \n", m.toString());
+        "0-+ 0-B + + \n" +
+        "|   | | | | \n" +
+        "0-+-B-+ + +-\n" +
+        "|   |   |   \n" +
+        "B-B B-+ +-B-\n" +
+        "|   | |   | \n" +
+        "0-0-0-B-B-G-\n" +
+        "  | | | | | \n", m.toString());
     m.movePlayer(Direction.EAST);
-    assertEquals("S-+ 0-0 0 + \n" +
+    assertEquals("S-+ +-B + 0-\n" +
+        "|     | | | \n" +
+        "B-0-B-0-B-0-\n" +
         "| | | | | | \n" +
-        "0-P-B-B B-B-\n" +
-        "  | | | | | \n" +
-        "B 0-0 0-B B \n" +
-        "| | | | |   \n" +
-        "0-B-B-0-0-B-\n" +
-        "  |   |   | \n" +
-        "+-0-0-B-+ + \n" +
-        "| | |   | | \n" +
-        "B-0-0-+ +-G-\n" +
-        "|   | |   | \n", m.toString());
-    m.movePlayer(Direction.NORTH);
-    assertEquals("P-+ 0-0 0 + \n" +
+        "0-+ 0-B + + \n" +
+        "|   | | | | \n" +
+        "0-+-B-+ + +-\n" +
+        "|   |   |   \n" +
+        "B-B B-+ +-B-\n" +
+        "|   | |   | \n" +
+        "0-P-0-B-B-G-\n" +
+        "  | | | | | \n", m.toString());
+    m.movePlayer(Direction.WEST);
+    assertEquals("S-+ +-B + 0-\n" +
+        "|     | | | \n" +
+        "B-0-B-0-B-0-\n" +
         "| | | | | | \n" +
-        "0-0-B-B B-B-\n" +
-        "  | | | | | \n" +
-        "B 0-0 0-B B \n" +
-        "| | | | |   \n" +
-        "0-B-B-0-0-B-\n" +
-        "  |   |   | \n" +
-        "+-0-0-B-+ + \n" +
-        "| | |   | | \n" +
-        "B-0-0-+ +-G-\n" +
-        "|   | |   | \n", m.toString());
-    m.movePlayer(Direction.EAST);
-    m.movePlayer(Direction.EAST);
-    assertEquals("S-+ 0-0 0 + \n" +
+        "0-+ 0-B + + \n" +
+        "|   | | | | \n" +
+        "0-+-B-+ + +-\n" +
+        "|   |   |   \n" +
+        "B-B B-+ +-B-\n" +
+        "|   | |   | \n" +
+        "P-0-0-B-B-G-\n" +
+        "  | | | | | \n", m.toString());
+    m.movePlayer(Direction.NORTH);
+    assertEquals(Arrays.asList(PlayerEffect.GRABBED_BY_BAT), m.getRecentEffects().get(0));
+    assertEquals("S-+ +-B + 0-\n" +
+        "|     | | | \n" +
+        "B-0-B-0-B-0-\n" +
         "| | | | | | \n" +
-        "0-0-B-B B-B-\n" +
-        "  | | | | | \n" +
-        "B 0-0 0-B B \n" +
-        "| | | | |   \n" +
-        "P-B-B-0-0-B-\n" +
-        "  |   |   | \n" +
-        "+-0-0-B-+ + \n" +
-        "| | |   | | \n" +
-        "B-0-0-+ +-G-\n" +
-        "|   | |   | \n", m.toString());
+        "0-+ 0-B + + \n" +
+        "|   | | | | \n" +
+        "0-+-B-+ + +-\n" +
+        "|   |   |   \n" +
+        "B-B B-+ +-B-\n" +
+        "|   | |   | \n" +
+        "0-P-0-B-B-G-\n" +
+        "  | | | | | \n", m.toString());
     m.movePlayer(Direction.EAST);
-    assertEquals("S-+ 0-0 0 + \n" +
-        "| | | | | | \n" +
-        "0-0-B-B B-B-\n" +
-        "  | | | | | \n" +
-        "B P-0 0-B B \n" +
-        "| | | | |   \n" +
-        "0-B-B-0-0-B-\n" +
-        "  |   |   | \n" +
-        "+-0-0-B-+ + \n" +
-        "| | |   | | \n" +
-        "B-0-0-+ +-G-\n" +
-        "|   | |   | \n", m.toString());
-    m.movePlayer(Direction.SOUTH);
-    assertEquals("S-+ 0-0 0 + \n" +
+    assertEquals("S-+ +-B + 0-\n" +
+        "|     | | | \n" +
+        "B-0-B-0-B-0-\n" +
         "| | | | | | \n" +
-        "0-0-B-B B-B-\n" +
-        "  | | | | | \n" +
-        "B 0-0 0-B B \n" +
-        "| | | | |   \n" +
-        "0-P-B-0-0-B-\n" +
-        "  |   |   | \n" +
-        "+-0-0-B-+ + \n" +
-        "| | |   | | \n" +
-        "B-0-0-+ +-G-\n" +
-        "|   | |   | \n", m.toString());
+        "0-+ 0-B + + \n" +
+        "|   | | | | \n" +
+        "0-+-B-+ + +-\n" +
+        "|   |   |   \n" +
+        "B-B B-+ +-B-\n" +
+        "|   | |   | \n" +
+        "0-0-P-B-B-G-\n" +
+        "  | | | | | \n", m.toString());
     m.movePlayer(Direction.EAST);
-    assertEquals("S-+ 0-0 0 + \n" +
+    assertEquals("S-+ +-B + 0-\n" +
+        "|     | | | \n" +
+        "B-0-B-0-B-0-\n" +
         "| | | | | | \n" +
-        "0-0-B-B B-B-\n" +
-        "  | | | | | \n" +
-        "B 0-0 0-B B \n" +
-        "| | | | |   \n" +
-        "0-B-B-0-0-B-\n" +
-        "  |   |   | \n" +
-        "+-0-0-B-+ + \n" +
-        "| | |   | | \n" +
-        "B-0-0-+ +-P-\n" +
-        "|   | |   | \n", m.toString());
+        "0-+ 0-B + + \n" +
+        "|   | | | | \n" +
+        "0-+-B-+ + +-\n" +
+        "|   |   |   \n" +
+        "B-B B-+ +-B-\n" +
+        "|   | |   | \n" +
+        "0-0-0-B-B-P-\n" +
+        "  | | | | | \n", m.toString());
+    assertEquals(Arrays.asList(PlayerEffect.RAN_INTO_WUMPUS, PlayerEffect.GRABBED_BY_BAT),
+            m.getRecentEffects().get(0));
     assertTrue(m.isGameOver());
 
   }
@@ -482,40 +480,42 @@ public class MazeTest {
   @Test
   public void testBats() {
     IMaze m = new Maze(8, 8, 0, true, 5, 5, 0, 0, 40, 0, 320943, 2);
-    assertEquals("G-B-B-B-0-0-B-B-\n" +
+    assertEquals("G-B-0-0-B-0-0-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-B-B-0-B-B-B-\n" +
+        "B-0-B-0-0-B-B-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-0-0-B-0-B-0-\n" +
+        "B-0-B-B-0-0-0-0-\n" +
         "| | | | | | | | \n" +
-        "0-0-B-0-B-B-0-0-\n" +
+        "0-B-B-0-0-0-0-0-\n" +
         "| | | | | | | | \n" +
-        "0-0-B-0-B-0-0-B-\n" +
+        "B-B-B-0-0-B-B-0-\n" +
         "| | | | | | | | \n" +
-        "B-B-0-0-B-P-0-0-\n" +
+        "B-B-B-B-0-P-B-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-B-0-B-B-0-B-\n" +
+        "B-0-B-0-0-0-B-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-0-0-B-B-B-0-\n" +
+        "0-0-0-0-B-B-B-B-\n" +
         "| | | | | | | | \n", m.toString());
-    m.movePlayer(Direction.WEST);
-    assertEquals("G-B-B-B-0-0-B-B-\n" +
+    m.movePlayer(Direction.NORTH);
+    assertEquals(Arrays.asList(PlayerEffect.AVOIDED_BAT), m.getRecentEffects().get(0));
+    assertEquals("G-B-0-0-B-0-0-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-B-B-0-B-B-B-\n" +
+        "B-0-B-0-0-B-B-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-0-0-B-0-B-0-\n" +
+        "B-0-B-B-0-0-0-0-\n" +
         "| | | | | | | | \n" +
-        "0-0-B-0-B-B-0-0-\n" +
+        "0-B-B-0-0-0-0-0-\n" +
         "| | | | | | | | \n" +
-        "0-0-B-0-B-0-0-B-\n" +
+        "B-B-B-0-0-P-B-0-\n" +
         "| | | | | | | | \n" +
-        "B-B-0-0-P-S-0-0-\n" +
+        "B-B-B-B-0-S-B-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-B-0-B-B-0-B-\n" +
+        "B-0-B-0-0-0-B-B-\n" +
         "| | | | | | | | \n" +
-        "B-0-0-0-B-B-B-0-\n" +
+        "0-0-0-0-B-B-B-B-\n" +
         "| | | | | | | | \n", m.toString());
 
+
   }
 
   @Test
@@ -523,23 +523,24 @@ public class MazeTest {
     //used as an image for when i run the game with the view, so that i can see where i need to go
     IMaze m = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 325, 2);
 
-    assertEquals("P +-0 # + 0 +-+ \n" +
+    assertEquals("P +-0 U + 0 +-+ \n" +
         "      | | | |   \n" +
-        "+-+-0 0-0-B + +-\n" +
+        "+-+-0 0-U-0 + +-\n" +
         "      |   | | | \n" +
         "0 +-0 0 +-+ +-0-\n" +
         "  |     |       \n" +
-        "0-#-+-+ 0-U-+-+-\n" +
+        "0-0-+-+ B-0-+-+-\n" +
         "|     | | |     \n" +
-        "0-0 0 U + 0 0-+-\n" +
+        "0-0 B U + U U-+-\n" +
         "|   |   |       \n" +
-        "B 0-0 +-0 U-+-+ \n" +
+        "0 0-B +-B B-+-+ \n" +
         "    | | |     | \n" +
-        "+-0 +-+ 0 0 +-0 \n" +
+        "+-0 +-+ 0 U +-0 \n" +
         "|         | | | \n" +
-        "0-B-+-0 +-#-+ G-\n" +
+        "0-B-+-0 +-0-+ G-\n" +
         "| |     |     | \n", m.toString());
 
+
   }
 
   @Test
@@ -547,17 +548,18 @@ public class MazeTest {
     //used as an image for when i run the game with the view, so that i can see where i need to go
     IMaze m = new Maze(5, 5, true, 0, 0, 4, 4, 5, 20, 325, 2);
 
-    assertEquals("P-0 U + + \n" +
+    assertEquals("P-0 0 + + \n" +
         "|     | | \n" +
         "+-U-0 +-+ \n" +
         "  |       \n" +
-        "+-B-0 0 +-\n" +
+        "+-U-0 B +-\n" +
         "  |   | | \n" +
-        "+ U +-0-0-\n" +
+        "+ 0 +-U-0-\n" +
         "|   |     \n" +
         "U-U + 0 G-\n" +
         "    | | | \n", m.toString());
 
+
   }
 
   @Test
@@ -696,5 +698,261 @@ public class MazeTest {
 
   }
 
+  @Test
+  public void restartMatchesNewMaze() {
+    IMaze m = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 325, 2);
+    for (int i = 0; i < 20 && !m.isGameOver(); i++) {
+      m.movePlayer(m.possiblePlayerMoves().get(i % m.possiblePlayerMoves().size()));
+    }
+    IMaze restarted = m.restart();
+    IMaze fresh = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 325, 2);
+    assertEquals(fresh.toString(), restarted.toString());
+    assertEquals(fresh.getPlayerLocation(), restarted.getPlayerLocation());
+    assertEquals(fresh.getArrowAmount(), restarted.getArrowAmount());
+    assertEquals(1, restarted.playerNumTurn());
+    assertFalse(restarted.isGameOver());
+    for (int r = 0; r < 8; r++) {
+      for (int c = 0; c < 8; c++) {
+        IReadableNode freshNode = fresh.getNodes().get(r).get(c);
+        IReadableNode restartedNode = restarted.getNodes().get(r).get(c);
+        assertEquals(freshNode.beenVisited(), restartedNode.beenVisited());
+        assertEquals(freshNode.getRoomAttributes(), restartedNode.getRoomAttributes());
+      }
+    }
+  }
+
+  @Test
+  public void changedNodesKeepACopyUpToDate() {
+    IMaze m = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 310, 2, 2);
+    List<List<IReadableNode>> copy = new ArrayList<>();
+    for (List<IReadableNode> row : m.getNodes()) {
+      copy.add(new ArrayList<>(row));
+    }
+    long version = m.getVersion();
+    for (int i = 0; i < 30 && !m.isGameOver(); i++) {
+      m.movePlayer(m.possiblePlayerMoves().get(i % m.possiblePlayerMoves().size()));
+      List<IReadableNode> changed = m.getChangedNodes(version);
+      assertTrue(changed.size() < 64);
+      for (IReadableNode node : changed) {
+        copy.get(node.getPosition().getRow()).set(node.getPosition().getCol(), node);
+      }
+      version = m.getVersion();
+
+      List<List<IReadableNode>> nodes = m.getNodes();
+      for (int r = 0; r < 8; r++) {
+        for (int c = 0; c < 8; c++) {
+          assertEquals(nodes.get(r).get(c).beenVisited(), copy.get(r).get(c).beenVisited());
+          assertEquals(nodes.get(r).get(c).getRoomAttributes(),
+                  copy.get(r).get(c).getRoomAttributes());
+        }
+      }
+    }
+    assertTrue(m.getChangedNodes(m.getVersion()).isEmpty());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void changedNodesFromTheFuture() {
+    IMaze m = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 310, 2);
+    m.getChangedNodes(m.getVersion() + 1);
+  }
+
+  @Test
+  public void snapshotsDoNotChange() {
+    IMaze m = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 310, 2, 2);
+    m.movePlayer(m.possiblePlayerMoves().get(0));
+    MazeSnapshot snapshot = m.snapshot();
+    assertSame(snapshot, m.snapshot());
+    List<List<IReadableNode>> before = m.getNodes();
+    String shown = m.toString();
+    for (int i = 0; i < 30 && !m.isGameOver(); i++) {
+      m.movePlayer(m.possiblePlayerMoves().get(i % m.possiblePlayerMoves().size()));
+    }
+    assertNotEquals(shown, m.toString());
+
+    assertEquals(8, snapshot.getNodes().size());
+    for (int r = 0; r < 8; r++) {
+      assertEquals(8, snapshot.getNodes().get(r).size());
+      for (int c = 0; c < 8; c++) {
+        IReadableNode node = snapshot.getNodes().get(r).get(c);
+        IReadableNode expected = before.get(r).get(c);
+        assertEquals(expected.getPosition(), node.getPosition());
+        assertEquals(expected.getRoomType(), node.getRoomType());
+        assertEquals(expected.getConnectedDirs(), node.getConnectedDirs());
+        assertEquals(expected.beenVisited(), node.beenVisited());
+        assertEquals(expected.getRoomAttributes(), node.getRoomAttributes());
+        assertEquals(expected.debugPrint(), node.debugPrint());
+      }
+    }
+    for (List<IReadableNode> row : before) {
+      for (IReadableNode node : row) {
+        if (node.getRoomAttributes().contains(RoomAttribute.HAS_PLAYER1)) {
+          assertEquals(node.getPosition(), snapshot.getPlayerLocation(1));
+        }
+        if (node.getRoomAttributes().contains(RoomAttribute.HAS_PLAYER2)) {
+          assertEquals(node.getPosition(), snapshot.getPlayerLocation(2));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void manyPlayersShareRooms() {
+    IMaze m = new Maze(10, 10, false, 0, 0, 9, 9, 0, 0, 40, 1, 2000);
+    assertEquals(2000, m.getPlayerCount());
+    assertEquals(2000, m.getPlayersAt(new Position(0, 0)).size());
+    Direction dir = m.possiblePlayerMoves().get(0);
+    for (int i = 1; i <= 2000; i++) {
+      assertEquals(i, m.playerNumTurn());
+      m.movePlayer(dir);
+    }
+    Position moved = m.getPlayerLocation();
+    assertEquals(1, m.playerNumTurn());
+    assertEquals(List.of(), m.getPlayersAt(new Position(0, 0)));
+    assertEquals(2000, m.getPlayersAt(moved).size());
+    assertEquals(Integer.valueOf(1), m.getPlayersAt(moved).get(0));
+  }
+
+  @Test
+  public void getNodeMatchesGetNodes() {
+    IMaze m = new Maze(6, 7, 10, true, 0, 0, 5, 6, 10, 10, 77, 3, 2);
+    m.movePlayer(m.possiblePlayerMoves().get(0));
+    List<List<IReadableNode>> nodes = m.getNodes();
+    for (int r = 0; r < 6; r++) {
+      for (int c = 0; c < 7; c++) {
+        IReadableNode node = m.getNode(new Position(r, c));
+        assertEquals(nodes.get(r).get(c).debugPrint(), node.debugPrint());
+        assertEquals(nodes.get(r).get(c).getRoomAttributes(), node.getRoomAttributes());
+        assertEquals(nodes.get(r).get(c).beenVisited(), node.beenVisited());
+      }
+    }
+    try {
+      m.getNode(new Position(6, 0));
+      fail("rooms outside the maze should be rejected");
+    } catch (IllegalArgumentException e) {
+      assertEquals("That room is not in the maze", e.getMessage());
+    }
+  }
+
+  @Test
+  public void turnsSkipPlayersWhoAreOut() {
+    IMaze m = new Maze(10, 10, false, 0, 0, 9, 9, 0, 0, 40, 1, 3);
+    Direction dir = m.possiblePlayerMoves().get(0);
+    m.movePlayer(dir);
+    //an arrow this far never hits in a maze that does not wrap
+    m.fireArrow(m.possiblePlayerMoves().get(0), 1000);
+    assertEquals(Arrays.asList(PlayerEffect.MISSED_WUMPUS, PlayerEffect.NO_ARROWS),
+            m.getRecentEffects().get(1));
+    assertEquals(m.getRecentEffects().get(1), m.getRecentEffects(2));
+    try {
+      m.getRecentEffects(4);
+      fail("there is no fourth player");
+    } catch (IllegalArgumentException e) {
+      assertEquals("There is no player with that number", e.getMessage());
+    }
+    assertEquals(3, m.playerNumTurn());
+    m.movePlayer(dir);
+    assertEquals(1, m.playerNumTurn());
+    assertEquals(List.of(1, 3), m.getPlayersAt(m.getPlayerLocation()));
+    assertEquals(List.of(2), m.getPlayersAt(new Position(0, 0)));
+    m.movePlayer(m.possiblePlayerMoves().get(0));
+    assertEquals(3, m.playerNumTurn());
+  }
+
+  @Test
+  public void batchesMatchSingleCommands() {
+    IMaze single = new Maze(8, 8, 20, true, 0, 0, 7, 7, 10, 10, 451, 3, 2);
+    IMaze batched = new Maze(8, 8, 20, true, 0, 0, 7, 7, 10, 10, 451, 3, 2);
+    CommandBatch batch = new CommandBatch();
+    List<List<PlayerEffect>> effects = new ArrayList<>();
+    List<Position> locations = new ArrayList<>();
+    for (int i = 0; i < 30 && !single.isGameOver(); i++) {
+      int player = single.playerNumTurn();
+      if (i % 7 == 6) {
+        batch.shoot(Direction.EAST, 2);
+        single.fireArrow(Direction.EAST, 2);
+      } else {
+        Direction dir = single.possiblePlayerMoves().get(i % single.possiblePlayerMoves().size());
+        batch.move(dir);
+        single.movePlayer(dir);
+      }
+      effects.add(single.getRecentEffects().get(player - 1));
+      locations.add(single.snapshot().getPlayerLocation(player));
+    }
+
+    List<CommandResult> results = batched.apply(batch);
+    assertEquals(batch.size(), results.size());
+    for (int i = 0; i < results.size(); i++) {
+      assertTrue(results.get(i).wasApplied());
+      assertEquals(effects.get(i), results.get(i).getEffects());
+      assertEquals(locations.get(i), results.get(i).getPlayerLocation());
+    }
+    CommandResult last = results.get(results.size() - 1);
+    assertEquals(single.playerNumTurn(), last.playerNumTurn());
+    assertEquals(single.isGameOver(), last.isGameOver());
+    assertEquals(single.getVersion(), last.getVersion());
+    assertEquals(single.toString(), batched.toString());
+  }
+
+  @Test
+  public void batchesStopAtARejectedCommand() {
+    IMaze m = new Maze(8, 8, 20, true, 0, 0, 7, 7, 0, 0, 451, 3, 1);
+    List<Direction> moves = m.possiblePlayerMoves();
+    Direction wall = null;
+    for (Direction dir : Direction.values()) {
+      if (!moves.contains(dir)) {
+        wall = dir;
+      }
+    }
+    CommandBatch batch = new CommandBatch().shoot(Direction.NORTH, 500).move(wall)
+            .move(moves.get(0));
+    List<CommandResult> results = m.apply(batch);
+    assertEquals(2, results.size());
+    assertTrue(results.get(0).wasApplied());
+    assertEquals(2, results.get(0).getArrowAmount());
+    assertFalse(results.get(1).wasApplied());
+    assertEquals(new Position(0, 0), m.getPlayerLocation());
+    assertEquals(2, m.getArrowAmount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void batchesCheckShots() {
+    new CommandBatch().shoot(Direction.NORTH, 0);
+  }
+
+  @Test
+  public void batchesSayWhenAShotIsTooFar() {
+    new CommandBatch().shoot(Direction.NORTH, Integer.MAX_VALUE >>> 3);
+    try {
+      new CommandBatch().shoot(Direction.NORTH, Integer.MAX_VALUE);
+      fail("the distance does not fit in a batch");
+    } catch (IllegalArgumentException e) {
+      assertEquals("A batch cannot shoot an arrow more than 268435455 units far", e.getMessage());
+    }
+  }
+
+  @Test
+  public void triesSayWhyNot() {
+    IMaze m = new Maze(8, 8, 20, true, 0, 0, 7, 7, 0, 0, 451, 1, 1);
+    Direction wall = null;
+    for (Direction dir : Direction.values()) {
+      if (!m.possiblePlayerMoves().contains(dir)) {
+        wall = dir;
+      }
+    }
+    assertEquals(CommandStatus.WALL, m.tryMove(wall));
+    assertEquals(CommandStatus.NO_DIRECTION, m.tryMove(null));
+    assertEquals(CommandStatus.BAD_DISTANCE, m.tryShoot(Direction.NORTH, 0));
+    assertEquals(CommandStatus.NO_DIRECTION, m.tryShoot(null, 2));
+    assertEquals(new Position(0, 0), m.getPlayerLocation());
+    assertEquals(1, m.getArrowAmount());
+
+    assertEquals(CommandStatus.OK, m.tryMove(m.possiblePlayerMoves().get(0)));
+    assertNotEquals(new Position(0, 0), m.getPlayerLocation());
+    //it was the last arrow, so the game is over whether it hits or not
+    assertEquals(CommandStatus.OK, m.tryShoot(Direction.NORTH, 9999));
+    assertTrue(m.isGameOver());
+    assertEquals(CommandStatus.GAME_OVER, m.tryMove(m.possiblePlayerMoves().get(0)));
+    assertEquals(CommandStatus.GAME_OVER, m.tryShoot(Direction.NORTH, 1));
+  }
 
-}
\ No newline at end of file
+}
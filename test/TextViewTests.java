@@ -109,38 +109,39 @@ public class TextViewTests {
 
   @Test
   public void playerTransportedBySuperBatAndOutOfArrows() {
-    StringReader in = new StringReader("m n m e s w 1 s w 1");
+    StringReader in = new StringReader("m s m w s e 1 s e 1");
     StringBuilder out = new StringBuilder("");
-    IMaze m = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 325, 2);
+    IMaze m = new Maze(8, 8, true, 0, 0, 7, 7, 10, 10, 310, 2);
     IMazeView view = new TextMazeView(out, in);
     IMazeController controller = new TextMazeController(m, view);
     controller.runGame();
     assertEquals("Player1's Effects:\n"
         + "Player1's turn:\n"
         + "You are in cave (0,0)\n"
-        + "You can move: North\n"
+        + "A cold wind blows...\n"
+        + "You can move: West, South, North\n"
         + "Shoot or Move (S-M)?:\n"
         + "You have 2 arrows left.\n"
-        + "Please enter the first letter of: North\n"
+        + "Please enter the first letter of: West, South, North\n"
         + "\n"
         + "Player1's Effects:\n"
         + "Player1's turn:\n"
-        + "You are in cave (7,0)\n"
-        + "There is the stench of Wumpus in the air...\n"
-        + "You can move: North, South, East, West\n"
+        + "You are in cave (1,0)\n"
+        + "A cold wind blows...\n"
+        + "You can move: East, North, West, South\n"
         + "Shoot or Move (S-M)?:\n"
         + "You have 2 arrows left.\n"
-        + "Please enter the first letter of: North, South, East, West\n"
+        + "Please enter the first letter of: East, North, West, South\n"
         + "\n"
         + "Player1's Effects:\n"
         + "WHOOOOSH...\n"
         + "A bat grabbed you and flew you to another cave!\n"
         + "Player1's turn:\n"
-        + "You are in cave (7,3)\n"
-        + "You can move: West\n"
+        + "You are in cave (1,3)\n"
+        + "You can move: East\n"
         + "Shoot or Move (S-M)?:\n"
         + "You have 2 arrows left.\n"
-        + "Please enter the first letter of: West\n"
+        + "Please enter the first letter of: East\n"
         + "\n"
         + "How far will you shoot your arrow?\n"
         + "Please enter an integer value: \n"
@@ -148,11 +149,11 @@ public class TextViewTests {
         + "Clank...\n"
         + "You hear your arrow echo off stone! You Missed!\n"
         + "Player1's turn:\n"
-        + "You are in cave (7,3)\n"
-        + "You can move: West\n"
+        + "You are in cave (1,3)\n"
+        + "You can move: East\n"
         + "Shoot or Move (S-M)?:\n"
         + "You have 1 arrows left.\n"
-        + "Please enter the first letter of: West\n"
+        + "Please enter the first letter of: East\n"
         + "\n"
         + "How far will you shoot your arrow?\n"
         + "Please enter an integer value: \n"
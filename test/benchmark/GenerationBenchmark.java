@@ -0,0 +1,88 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.GeneratorType;
+import model.IMaze;
+import model.MazeBuilder;
+
+/**
+ * Times maze generation for growing board sizes, to check that generation scales linearly with
+ * the amount of cells and to compare the generators. Not a unit test, it is run by hand. The cell
+ * counts to time can be given as arguments, and default to 10k up to 10M cells. The largest sizes
+ * need a large heap (-Xmx4g). Passing -parallel times parallel generation, and passing -generator
+ * followed by a generator name only times that generator instead of all of them.
+ */
+public final class GenerationBenchmark {
+
+  private static final int WARMUP_CELLS = 100_000;
+
+  /**
+   * Runs the benchmark.
+   *
+   * @param args the options and the cell counts to time, optional.
+   */
+  public static void main(String[] args) {
+    boolean parallel = false;
+    GeneratorType[] types = GeneratorType.values();
+    List<Integer> cellCounts = new ArrayList<>();
+    for (int i = 0; i < args.length; i++) {
+      switch (args[i]) {
+        case "-parallel":
+          parallel = true;
+          break;
+        case "-generator":
+          types = new GeneratorType[]{GeneratorType.valueOf(args[i + 1].toUpperCase())};
+          i++;
+          break;
+        default:
+          cellCounts.add(Integer.parseInt(args[i]));
+      }
+    }
+    if (cellCounts.isEmpty()) {
+      cellCounts = List.of(10_000, 100_000, 1_000_000, 10_000_000);
+    }
+
+    System.out.println("generator, cells, millis, nanos per cell");
+    for (GeneratorType type : types) {
+      //lets the jit compile the generation code before anything is timed
+      for (int i = 0; i < 5; i++) {
+        generate(WARMUP_CELLS, type, parallel);
+      }
+
+      for (int cells : cellCounts) {
+        long start = System.nanoTime();
+        generate(cells, type, parallel);
+        long elapsed = System.nanoTime() - start;
+        System.out.println(type + ", " + cells + ", " + (elapsed / 1_000_000) + ", "
+                + (elapsed / cells));
+      }
+    }
+  }
+
+  /**
+   * Generates a square perfect maze with about the given amount of cells.
+   *
+   * @param cells    the amount of cells
+   * @param type     the generator to use
+   * @param parallel if the maze is generated in parallel
+   * @return the maze.
+   */
+  private static IMaze generate(int cells, GeneratorType type, boolean parallel) {
+    int side = (int) Math.ceil(Math.sqrt(cells));
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(side);
+    builder.setCols(side);
+    builder.setPerfect(true);
+    builder.setgRow(side - 1);
+    builder.setgCol(side - 1);
+    builder.setBatsPercentage(0);
+    builder.setPitsPercentage(0);
+    builder.setSeed(42L);
+    builder.setGeneratorType(type);
+    builder.setParallelGeneration(parallel);
+    return builder.build();
+  }
+
+}
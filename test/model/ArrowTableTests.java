@@ -0,0 +1,88 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the arrow table against flying the arrow by hand.
+ */
+public class ArrowTableTests {
+
+  @Test
+  public void matchesFlyingTheArrow() {
+    for (boolean wrapping : new boolean[]{false, true}) {
+      for (long seed = 1; seed <= 5; seed++) {
+        MazeBoard board = new NodeBoard(12, 15);
+        MazeLayout layout = new MazeLayout(12, 15, wrapping ? 150 : 100, wrapping, 0, 0, 7, 9,
+                0, 0, seed, 1, 1, new KruskalGenerator(), (rows, cols) -> board);
+
+        int hitsFound = 0;
+        for (int r = 0; r < 12; r++) {
+          for (int c = 0; c < 15; c++) {
+            if (board.getNode(r, c).getRoomType() == RoomType.HALLWAY) {
+              continue;
+            }
+            Position start = new Position(r, c);
+            for (Direction dir : Direction.values()) {
+              long first = 0;
+              for (int distance = 1; distance <= 400; distance++) {
+                boolean expected = this.fly(layout, board, start, dir, distance);
+                assertEquals(expected, layout.arrowHits(start, dir, distance));
+                if (expected && first == 0) {
+                  first = distance;
+                  hitsFound++;
+                }
+              }
+              assertEquals(first, layout.arrowHitDistance(start, dir));
+            }
+          }
+        }
+        assertTrue(hitsFound > 0);
+      }
+    }
+  }
+
+  @Test
+  public void circlesBackIntoTheWumpus() {
+    //with no walls on a wrapping board every row and column is a loop
+    MazeBoard board = new NodeBoard(3, 4);
+    MazeLayout layout = new MazeLayout(3, 4, 0, true, 0, 0, 1, 1, 0, 0, 4L, 1, 1,
+            new KruskalGenerator(), (rows, cols) -> board);
+    Position start = new Position(1, 0);
+    for (int distance = 1; distance <= 100; distance++) {
+      assertEquals(this.fly(layout, board, start, Direction.EAST, distance),
+              layout.arrowHits(start, Direction.EAST, distance));
+      assertEquals(distance % 4 == 1, layout.arrowHits(start, Direction.EAST, distance));
+      assertEquals(distance % 3 == 2,
+              layout.arrowHits(new Position(2, 1), Direction.SOUTH, distance));
+    }
+    assertEquals(1, layout.arrowHitDistance(start, Direction.EAST));
+    assertTrue(layout.arrowHits(start, Direction.EAST, 1_000_001));
+  }
+
+  /**
+   * Flies an arrow one cell at a time, the way shots used to be checked.
+   */
+  private boolean fly(MazeLayout layout, MazeBoard board, Position pos, Direction dir,
+                      int distance) {
+    while (distance > 0) {
+      if (!board.getNode(pos.getRow(), pos.getCol()).getConnectedDirs().contains(dir)) {
+        return false;
+      }
+      pos = layout.neighbor(pos, dir);
+      IReadableNode node = board.getNode(pos.getRow(), pos.getCol());
+      if (node.getRoomType() == RoomType.HALLWAY) {
+        List<Direction> dirs = node.getConnectedDirs();
+        dir = dirs.get(0) == dir.opposite() ? dirs.get(1) : dirs.get(0);
+      } else {
+        distance--;
+      }
+    }
+    return board.getNode(pos.getRow(), pos.getCol()).getRoomType() == RoomType.WUMPUS;
+  }
+
+}
@@ -0,0 +1,47 @@
+package model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests where bats drop the players they grab.
+ */
+public class BatLandingTests {
+
+  @Test
+  public void dropsOnlyInRoomsWithoutBats() {
+    //with most rooms full of bats a drop used to take many tries to find a room
+    MazeLayout layout = new MazeLayout(40, 40, 0, true, 0, 0, 39, 39, 95, 0, 8L, 1, 1,
+            new KruskalGenerator(), NodeBoard::new);
+    int grabs = 0;
+    for (int r = 0; r < 40; r++) {
+      for (int c = 0; c < 40; c++) {
+        int drop = layout.batDrop(r * 40 + c);
+        if (drop != -1) {
+          grabs++;
+          RoomType type = layout.roomType(drop);
+          assertNotEquals(RoomType.SUPERBAT, type);
+          assertNotEquals(RoomType.SUPERBAT_AND_PIT, type);
+          assertNotEquals(RoomType.HALLWAY, type);
+        }
+      }
+    }
+    //about half of the grabs should get away
+    assertTrue(grabs > 600 && grabs < 1000);
+  }
+
+  @Test
+  public void sameSeedSameDrops() {
+    MazeLayout first = new MazeLayout(10, 10, 50, true, 0, 0, 9, 9, 30, 10, 77L, 1, 1,
+            new KruskalGenerator(), NodeBoard::new);
+    MazeLayout second = new MazeLayout(10, 10, 50, true, 0, 0, 9, 9, 30, 10, 77L, 1, 1,
+            new KruskalGenerator(), CompactBoard::new);
+    for (int cell = 0; cell < 100; cell++) {
+      assertEquals(first.batDrop(cell), second.batDrop(cell));
+    }
+  }
+
+}
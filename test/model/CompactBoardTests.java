@@ -0,0 +1,105 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that mazes stored on a compact board play the same as mazes stored as nodes.
+ */
+public class CompactBoardTests {
+
+  /**
+   * Makes a maze with bats and pits stored on the given board.
+   */
+  private Maze maze(MazeBoard.Factory boardFactory) {
+    return new Maze(12, 14, 40, true, 0, 0, 9, 11, 15, 15, 4321, 3, 2,
+            new KruskalGenerator(), boardFactory);
+  }
+
+  /**
+   * Checks that the rooms are the same, ignoring the order directions and attributes are listed in.
+   */
+  private void assertSameRooms(IMaze expected, IMaze actual) {
+    List<List<IReadableNode>> expectedNodes = expected.getNodes();
+    List<List<IReadableNode>> actualNodes = actual.getNodes();
+    assertEquals(expectedNodes.size(), actualNodes.size());
+    for (int r = 0; r < expectedNodes.size(); r++) {
+      for (int c = 0; c < expectedNodes.get(r).size(); c++) {
+        IReadableNode expectedNode = expectedNodes.get(r).get(c);
+        IReadableNode actualNode = actualNodes.get(r).get(c);
+        assertEquals(expectedNode.getPosition(), actualNode.getPosition());
+        assertEquals(expectedNode.getRoomType(), actualNode.getRoomType());
+        assertEquals(expectedNode.beenVisited(), actualNode.beenVisited());
+        assertEquals(new HashSet<>(expectedNode.getConnectedDirs()),
+                new HashSet<>(actualNode.getConnectedDirs()));
+        assertEquals(new HashSet<>(expectedNode.getRoomAttributes()),
+                new HashSet<>(actualNode.getRoomAttributes()));
+      }
+    }
+  }
+
+  @Test
+  public void sameMaze() {
+    this.assertSameRooms(this.maze(NodeBoard::new), this.maze(CompactBoard::new));
+  }
+
+  @Test
+  public void samePlay() {
+    IMaze nodes = this.maze(NodeBoard::new);
+    IMaze compact = this.maze(CompactBoard::new);
+    for (int i = 0; i < 60 && !nodes.isGameOver(); i++) {
+      List<Direction> moves = new ArrayList<>(nodes.possiblePlayerMoves());
+      assertEquals(new HashSet<>(moves), new HashSet<>(compact.possiblePlayerMoves()));
+      Direction move = moves.get(i % moves.size());
+      if (i % 7 == 6) {
+        nodes.fireArrow(move, 2);
+        compact.fireArrow(move, 2);
+      } else {
+        nodes.movePlayer(move);
+        compact.movePlayer(move);
+      }
+      assertEquals(nodes.getPlayerLocation(), compact.getPlayerLocation());
+      assertEquals(nodes.getRecentEffects(), compact.getRecentEffects());
+      assertEquals(nodes.isGameOver(), compact.isGameOver());
+      this.assertSameRooms(nodes, compact);
+    }
+  }
+
+  @Test
+  public void restartKeepsCompactBoard() {
+    this.assertSameRooms(this.maze(NodeBoard::new).restart(),
+            this.maze(CompactBoard::new).restart());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noDuplicateDirections() {
+    IWritableNode node = new CompactBoard(2, 2).getNode(1, 0);
+    node.setConnectedDirection(Direction.EAST);
+    node.setConnectedDirection(Direction.EAST);
+  }
+
+  @Test
+  public void roomsAreStoredInPlace() {
+    CompactBoard board = new CompactBoard(3, 5);
+    assertEquals(RoomType.EMPTY, board.getNode(2, 4).getRoomType());
+    board.getNode(2, 4).setRoomType(RoomType.PIT);
+    board.getNode(2, 4).addAttribute(RoomAttribute.HAS_PLAYER2);
+    board.getNode(2, 4).setConnectedDirection(Direction.WEST);
+    board.getNode(2, 4).setConnectedDirection(Direction.NORTH);
+
+    IReadableNode node = board.getNode(2, 4).copy();
+    assertEquals(RoomType.PIT, node.getRoomType());
+    assertFalse(node.beenVisited());
+    assertEquals(List.of(RoomAttribute.HAS_PLAYER2), node.getRoomAttributes());
+    assertEquals(List.of(Direction.NORTH, Direction.WEST), node.getConnectedDirs());
+    assertTrue(board.getNode(2, 3).getRoomAttributes().isEmpty());
+  }
+
+}
@@ -0,0 +1,78 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the direction set.
+ */
+public class DirectionSetTests {
+
+  @Test
+  public void setsAreShared() {
+    assertSame(DirectionSet.of(Direction.NORTH, Direction.EAST),
+            DirectionSet.of(Direction.EAST, Direction.NORTH));
+    assertSame(DirectionSet.none().with(Direction.WEST), DirectionSet.of(Direction.WEST));
+    assertSame(DirectionSet.of(1 << Direction.SOUTH.ordinal()), DirectionSet.of(Direction.SOUTH));
+  }
+
+  @Test
+  public void iteratesInDeclaredOrder() {
+    DirectionSet set = DirectionSet.of(Direction.WEST, Direction.NORTH, Direction.EAST);
+    assertEquals(List.of(Direction.NORTH, Direction.EAST, Direction.WEST), List.copyOf(set));
+    assertEquals(3, set.size());
+    assertEquals(Direction.NORTH, set.first());
+  }
+
+  @Test
+  public void containsAndChanges() {
+    DirectionSet set = DirectionSet.of(Direction.SOUTH, Direction.EAST);
+    assertTrue(set.contains(Direction.SOUTH));
+    assertFalse(set.contains(Direction.NORTH));
+    assertFalse(set.contains("SOUTH"));
+    assertFalse(set.without(Direction.SOUTH).contains(Direction.SOUTH));
+    assertTrue(set.without(Direction.SOUTH).without(Direction.EAST).isEmpty());
+  }
+
+  @Test
+  public void equalToOtherSets() {
+    DirectionSet set = DirectionSet.of(Direction.NORTH, Direction.WEST);
+    HashSet<Direction> other = new HashSet<>(List.of(Direction.WEST, Direction.NORTH));
+    assertEquals(other, set);
+    assertEquals(set, other);
+    assertEquals(other.hashCode(), set.hashCode());
+    assertEquals(EnumSet.of(Direction.NORTH, Direction.WEST), set);
+  }
+
+  @Test
+  public void nodesAgreeWithTheirLists() {
+    MazeLayout layout = new MazeLayout(8, 8, 20, true, 0, 0, 7, 7, 10, 10, 5L, 1, 1,
+            new KruskalGenerator(), CompactBoard::new);
+    for (int r = 0; r < 8; r++) {
+      for (int c = 0; c < 8; c++) {
+        IReadableNode node = layout.getNode(r, c);
+        assertEquals(new HashSet<>(node.getConnectedDirs()), node.getConnections());
+      }
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void emptyHasNoFirst() {
+    DirectionSet.none().first();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void badMask() {
+    DirectionSet.of(16);
+  }
+
+}
@@ -0,0 +1,52 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the package private disjoint set used for maze generation.
+ */
+public class DisjointSetTests {
+  DisjointSet sets;
+
+  @Before
+  public void setUp() throws Exception {
+    sets = new DisjointSet(2, 3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void emptyBoard() {
+    new DisjointSet(0, 3);
+  }
+
+  @Test
+  public void union() {
+    for (int i = 0; i < 6; i++) {
+      assertEquals(i, sets.find(i));
+    }
+    assertFalse(sets.connected(0, 1));
+    assertTrue(sets.union(0, 1));
+    assertTrue(sets.connected(0, 1));
+    assertFalse(sets.union(1, 0));
+
+    assertTrue(sets.union(4, 5));
+    assertFalse(sets.connected(1, 5));
+    assertTrue(sets.union(1, 5));
+    assertTrue(sets.connected(0, 4));
+    assertFalse(sets.connected(0, 3));
+  }
+
+  @Test
+  public void longChainDoesNotRecurse() {
+    DisjointSet big = new DisjointSet(2000, 2000);
+    for (int i = 1; i < 2000 * 2000; i++) {
+      big.union(i - 1, i);
+    }
+    assertTrue(big.connected(0, 2000 * 2000 - 1));
+  }
+
+}
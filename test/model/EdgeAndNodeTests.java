@@ -4,8 +4,6 @@ import org.junit.Before;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertFalse;
-import static org.junit.Assert.assertTrue;
 
 /**
  * Tests the package private nodes and edges.
@@ -59,25 +57,6 @@ public class EdgeAndNodeTests {
 
 
 
-  @Test
-  public void unionNodes() {
-    assertFalse(e1.areNodesConnected());
-    assertFalse(e2.areNodesConnected());
-    assertFalse(e3.areNodesConnected());
-    assertFalse(e4.areNodesConnected());
-
-    e1.unionNodes();
-    e2.unionNodes();
-    e3.unionNodes();
-    e4.unionNodes();
-
-    assertTrue(e1.areNodesConnected());
-    assertTrue(e2.areNodesConnected());
-    assertTrue(e3.areNodesConnected());
-    assertTrue(e4.areNodesConnected());
-
-  }
-
   @Test
   public void getWeight() {
     assertEquals(1,e1.getWeight());
@@ -106,34 +85,4 @@ public class EdgeAndNodeTests {
 
   }
 
-  @Test
-  public void visiting() {
-    assertFalse(n1.beenVisited());
-    n1.visit();
-    assertTrue(n1.beenVisited());
-  }
-
-  @Test
-  public void findLeader() {
-    assertEquals(n1, n1.findLeader());
-    assertEquals(n2, n2.findLeader());
-    assertEquals(n3, n3.findLeader());
-    assertEquals(n4, n4.findLeader());
-
-    e1.unionNodes();
-    e2.unionNodes();
-
-    assertEquals(n2, n1.findLeader());
-    assertEquals(n2, n2.findLeader());
-    assertEquals(n4, n3.findLeader());
-    assertEquals(n4, n4.findLeader());
-
-    e3.unionNodes();
-
-    assertEquals(n4, n1.findLeader());
-    assertEquals(n4, n2.findLeader());
-    assertEquals(n4, n3.findLeader());
-    assertEquals(n4, n4.findLeader());
-  }
-
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the package private packed edge list used for maze generation.
+ */
+public class EdgeListTests {
+
+  @Test
+  public void edgeCounts() {
+    assertEquals(17, new EdgeList(3, 4, false, 234).size());
+    assertEquals(24, new EdgeList(3, 4, true, 234).size());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void tooManyCells() {
+    new EdgeList(100_000, 100_000, false, 234);
+  }
+
+  @Test
+  public void packing() {
+    EdgeList edges = new EdgeList(3, 4, true, 234);
+    int south = EdgeList.pack(5, Direction.SOUTH);
+    assertEquals(5, EdgeList.start(south));
+    assertEquals(9, edges.end(south));
+    assertEquals(Direction.SOUTH, EdgeList.direction(south));
+
+    int east = EdgeList.pack(6, Direction.EAST);
+    assertEquals(6, EdgeList.start(east));
+    assertEquals(7, edges.end(east));
+    assertEquals(Direction.EAST, EdgeList.direction(east));
+
+    //wrapping edges end on the other side of the board
+    assertEquals(1, edges.end(EdgeList.pack(9, Direction.SOUTH)));
+    assertEquals(4, edges.end(EdgeList.pack(7, Direction.EAST)));
+  }
+
+  @Test
+  public void seededAndComplete() {
+    EdgeList edges = new EdgeList(20, 20, true, 982);
+    EdgeList same = new EdgeList(20, 20, true, 982);
+    boolean[] seen = new boolean[2 * 20 * 20];
+    for (int i = 0; i < edges.size(); i++) {
+      assertEquals(edges.get(i), same.get(i));
+      seen[edges.get(i)] = true;
+    }
+    //every edge shows up exactly once
+    for (boolean edge : seen) {
+      assertTrue(edge);
+    }
+  }
+
+}
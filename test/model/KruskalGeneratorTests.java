@@ -0,0 +1,75 @@
+package model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the package private kruskal generator, mainly that generating across a pool gives the
+ * same maze as generating on one thread.
+ */
+public class KruskalGeneratorTests {
+  ForkJoinPool pool;
+
+  @Before
+  public void setUp() throws Exception {
+    pool = new ForkJoinPool(4);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    pool.shutdown();
+  }
+
+  @Test
+  public void edgeCounts() {
+    assertEquals(11, new KruskalGenerator().generate(3, 4, false, 11, 234).length);
+    assertEquals(20, new KruskalGenerator().generate(3, 4, true, 20, 234).length);
+    assertEquals(11, new KruskalGenerator(pool).generate(3, 4, false, 11, 234).length);
+  }
+
+  @Test
+  public void parallelSortMatches() {
+    EdgeList sequential = new EdgeList(300, 300, true, 5);
+    EdgeList parallel = new EdgeList(300, 300, true, 5, pool);
+    assertArrayEquals(sequential.toArray(), parallel.toArray());
+  }
+
+  @Test
+  public void parallelPerfectMatches() {
+    for (long seed = 0; seed < 3; seed++) {
+      assertArrayEquals(new KruskalGenerator().generate(250, 250, false, 250 * 250 - 1, seed),
+              new KruskalGenerator(pool).generate(250, 250, false, 250 * 250 - 1, seed));
+      assertArrayEquals(new KruskalGenerator().generate(200, 300, true, 200 * 300 - 1, seed),
+              new KruskalGenerator(pool).generate(200, 300, true, 200 * 300 - 1, seed));
+    }
+  }
+
+  @Test
+  public void parallelNonPerfectMatches() {
+    int edges = 250 * 250 + 20_000;
+    assertArrayEquals(new KruskalGenerator().generate(250, 250, false, edges, 982),
+            new KruskalGenerator(pool).generate(250, 250, false, edges, 982));
+    assertArrayEquals(new KruskalGenerator().generate(250, 250, true, 2 * 250 * 250, 982),
+            new KruskalGenerator(pool).generate(250, 250, true, 2 * 250 * 250, 982));
+  }
+
+  @Test
+  public void builderParallelMatches() {
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(40);
+    builder.setCols(60);
+    builder.setWrapping(true);
+    builder.setWallsRemaining(500);
+    builder.setSeed(325);
+    String sequential = builder.build().toString();
+    builder.setParallelGeneration(true);
+    assertEquals(sequential, builder.build().toString());
+  }
+
+}
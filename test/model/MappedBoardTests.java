@@ -0,0 +1,168 @@
+package model;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests mazes stored in memory mapped files.
+ */
+public class MappedBoardTests {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * Makes a builder for a maze with bats and pits.
+   */
+  private MazeBuilder builder() {
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(9);
+    builder.setCols(13);
+    builder.setWrapping(true);
+    builder.setPerfect(false);
+    builder.setWallsRemaining(60);
+    builder.setgRow(7);
+    builder.setgCol(10);
+    builder.setBatsPercentage(15);
+    builder.setPitsPercentage(15);
+    builder.setPlayerCount(2);
+    builder.setSeed(8765);
+    return builder;
+  }
+
+  /**
+   * Checks that the rooms are the same, ignoring the order directions and attributes are listed in.
+   */
+  private void assertSameRooms(IMaze expected, IMaze actual) {
+    List<List<IReadableNode>> expectedNodes = expected.getNodes();
+    List<List<IReadableNode>> actualNodes = actual.getNodes();
+    assertEquals(expectedNodes.size(), actualNodes.size());
+    for (int r = 0; r < expectedNodes.size(); r++) {
+      for (int c = 0; c < expectedNodes.get(r).size(); c++) {
+        IReadableNode expectedNode = expectedNodes.get(r).get(c);
+        IReadableNode actualNode = actualNodes.get(r).get(c);
+        assertEquals(expectedNode.getRoomType(), actualNode.getRoomType());
+        assertEquals(expectedNode.beenVisited(), actualNode.beenVisited());
+        assertEquals(new HashSet<>(expectedNode.getConnectedDirs()),
+                new HashSet<>(actualNode.getConnectedDirs()));
+        assertEquals(new HashSet<>(expectedNode.getRoomAttributes()),
+                new HashSet<>(actualNode.getRoomAttributes()));
+      }
+    }
+  }
+
+  @Test
+  public void storedMazeIsTheSame() throws IOException {
+    Path file = this.folder.getRoot().toPath().resolve("maze.bin");
+    MazeBuilder builder = this.builder();
+    IMaze inMemory = builder.build();
+    builder.setStorageFile(file);
+    IMaze stored = builder.build();
+    this.assertSameRooms(inMemory, stored);
+    this.assertSameRooms(inMemory, Maze.open(file));
+    assertEquals(inMemory.getPlayerLocation(), Maze.open(file).getPlayerLocation());
+    assertEquals(inMemory.getArrowAmount(), Maze.open(file).getArrowAmount());
+  }
+
+  @Test
+  public void playingDoesNotChangeTheFile() throws IOException {
+    Path file = this.folder.getRoot().toPath().resolve("maze.bin");
+    MazeBuilder builder = this.builder();
+    builder.setStorageFile(file);
+    IMaze fresh = builder.build();
+    IMaze played = Maze.open(file);
+    for (int i = 0; i < 10 && !played.isGameOver(); i++) {
+      played.movePlayer(played.possiblePlayerMoves().get(0));
+    }
+    this.assertSameRooms(fresh, Maze.open(file));
+    IMaze restarted = played.restart();
+    this.assertSameRooms(fresh, restarted);
+    assertFalse(restarted.isGameOver());
+  }
+
+  @Test
+  public void largeBoard() throws IOException {
+    Path file = this.folder.getRoot().toPath().resolve("large.bin");
+    MappedBoard board = MappedBoard.create(file, 1000, 1000);
+    board.getNode(999, 999).setRoomType(RoomType.SUPERBAT_AND_PIT);
+    board.getNode(999, 999).addAttribute(RoomAttribute.HAS_PLAYER2);
+    board.getNode(999, 999).setConnectedDirection(Direction.WEST);
+    assertEquals(RoomType.SUPERBAT_AND_PIT, board.getNode(999, 999).getRoomType());
+    assertEquals(List.of(RoomAttribute.HAS_PLAYER2), board.getNode(999, 999).getRoomAttributes());
+    assertEquals(List.of(Direction.WEST), board.getNode(999, 999).getConnectedDirs());
+    assertFalse(board.getNode(999, 999).beenVisited());
+    assertEquals(RoomType.EMPTY, board.getNode(999, 998).getRoomType());
+    board.generated(1L, new int[12]);
+    //a 64 byte header then two bytes per room
+    assertEquals(64 + 2L * 1000 * 1000, Files.size(file));
+  }
+
+  @Test
+  public void unfinishedFile() throws IOException {
+    Path file = this.folder.getRoot().toPath().resolve("unfinished.bin");
+    MappedBoard.create(file, 10, 10);
+    assertFalse(Files.exists(file));
+    MazeBuilder builder = this.builder();
+    builder.setStorageFile(file);
+    IMaze saved = builder.build();
+    //a board that is never finished does not touch the maze already saved in the file
+    MappedBoard.create(file, 10, 10);
+    this.assertSameRooms(saved, Maze.open(file));
+  }
+
+  @Test
+  public void failedGenerationLeavesNoFiles() throws IOException {
+    Path file = this.folder.getRoot().toPath().resolve("failed.bin");
+    try {
+      new MazeLayout(5, 5, 0, true, 0, 0, 4, 4, 0, 0, 1L, 1, 1,
+              (rows, cols, wrapping, edges, seed) -> {
+                throw new IllegalStateException("generation failed");
+              }, MappedBoard.factory(file));
+      fail("the generator threw");
+    } catch (IllegalStateException e) {
+      assertEquals("generation failed", e.getMessage());
+    }
+    try (Stream<Path> files = Files.list(this.folder.getRoot().toPath())) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  public void savingAgainKeepsOpenLayouts() throws IOException {
+    Path file = this.folder.getRoot().toPath().resolve("maze.bin");
+    MazeBuilder builder = this.builder();
+    builder.setStorageFile(file);
+    IMaze first = builder.build();
+    String before = first.toString();
+    builder.setSeed(1234);
+    IMaze second = builder.build();
+    assertEquals(before, first.toString());
+    assertNotEquals(before, second.toString());
+    this.assertSameRooms(second, Maze.open(file));
+    try (Stream<Path> files = Files.list(this.folder.getRoot().toPath())) {
+      assertEquals(List.of(file), files.collect(Collectors.toList()));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void notAMaze() throws IOException {
+    Path file = this.folder.newFile("other.txt").toPath();
+    Files.writeString(file, "not a maze");
+    Maze.open(file);
+  }
+
+}
@@ -0,0 +1,92 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the different maze generators.
+ */
+public class MazeGeneratorTests {
+
+  /**
+   * Checks that the edges are all different, and that the first edges connect every cell.
+   */
+  private void assertConnects(int[] edges, int rows, int cols) {
+    DisjointSet sets = new DisjointSet(rows, cols);
+    Set<Integer> seen = new HashSet<>();
+    for (int i = 0; i < edges.length; i++) {
+      assertTrue(seen.add(edges[i]));
+      boolean joined = sets.union(EdgeList.start(edges[i]),
+              EdgeList.end(edges[i], rows, cols));
+      //the tree comes first, so none of its edges can make a loop
+      assertTrue(joined || i >= rows * cols - 1);
+    }
+    for (int cell = 0; cell < rows * cols; cell++) {
+      assertTrue(sets.connected(0, cell));
+    }
+  }
+
+  @Test
+  public void perfectMazes() {
+    for (GeneratorType type : GeneratorType.values()) {
+      MazeGenerator generator = type.create(null);
+      int[] edges = generator.generate(17, 23, false, 17 * 23 - 1, 325);
+      assertEquals(17 * 23 - 1, edges.length);
+      this.assertConnects(edges, 17, 23);
+
+      edges = generator.generate(12, 9, true, 12 * 9 - 1, 325);
+      this.assertConnects(edges, 12, 9);
+
+      //thin mazes where the wrapping neighbor can be the cell itself or the same on both sides
+      this.assertConnects(generator.generate(1, 6, true, 5, 982), 1, 6);
+      this.assertConnects(generator.generate(2, 5, true, 9, 982), 2, 5);
+    }
+  }
+
+  @Test
+  public void nonPerfectMazes() {
+    for (GeneratorType type : GeneratorType.values()) {
+      MazeGenerator generator = type.create(null);
+      int[] edges = generator.generate(10, 10, false, 150, 234);
+      assertEquals(150, edges.length);
+      this.assertConnects(edges, 10, 10);
+
+      edges = generator.generate(10, 10, true, 200, 234);
+      this.assertConnects(edges, 10, 10);
+    }
+  }
+
+  @Test
+  public void seeded() {
+    for (GeneratorType type : GeneratorType.values()) {
+      assertArrayEquals(type.create(null).generate(15, 15, true, 250, 12345),
+              type.create(null).generate(15, 15, true, 250, 12345));
+    }
+  }
+
+  @Test
+  public void builderUsesGenerator() {
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(12);
+    builder.setCols(12);
+    builder.setPerfect(true);
+    builder.setSeed(325);
+    String kruskal = builder.build().toString();
+    builder.setGeneratorType(GeneratorType.WILSON);
+    IMaze wilson = builder.build();
+    assertTrue(!kruskal.equals(wilson.toString()));
+    assertEquals(wilson.toString(), builder.build().toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void noNullGenerator() {
+    new MazeBuilder().setGeneratorType(null);
+  }
+
+}
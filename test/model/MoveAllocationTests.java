@@ -0,0 +1,72 @@
+package model;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Tests that moving a player does not make any objects, by counting the bytes the thread allocates.
+ */
+public class MoveAllocationTests {
+
+  @Test
+  public void movingAllocatesNothing() {
+    Assume.assumeTrue(ManagementFactory.getThreadMXBean()
+            instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threads.isThreadAllocatedMemorySupported());
+    threads.setThreadAllocatedMemoryEnabled(true);
+
+    MazeLayout layout = new MazeLayout(30, 30, 400, true, 0, 0, 29, 29, 0, 0, 17L, 1, 1,
+            new KruskalGenerator(), CompactBoard::new);
+    Direction[] walk = this.walk(layout, 20_000);
+
+    //lets the jit compile the moves before anything is counted
+    for (int i = 0; i < 5; i++) {
+      this.play(new Maze(layout), walk);
+    }
+
+    Maze game = new Maze(layout);
+    long thread = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(thread);
+    this.play(game, walk);
+    long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    assertFalse(game.isGameOver());
+    assertEquals(0, allocated);
+  }
+
+  /**
+   * Makes a walk through the layout that never goes into the wumpus.
+   */
+  private Direction[] walk(MazeLayout layout, int length) {
+    Direction[] walk = new Direction[length];
+    Maze scout = new Maze(layout);
+    for (int i = 0; i < length; i++) {
+      List<Direction> moves = scout.possiblePlayerMoves();
+      Direction dir = moves.get(i % moves.size());
+      Position next = layout.connectedRoom(scout.getPlayerLocation(), dir);
+      if (layout.getNode(next.getRow(), next.getCol()).getRoomType() == RoomType.WUMPUS) {
+        dir = moves.get((i + 1) % moves.size());
+      }
+      scout.movePlayer(dir);
+      walk[i] = dir;
+    }
+    return walk;
+  }
+
+  /**
+   * Plays a walk on a game.
+   */
+  private void play(Maze game, Direction[] walk) {
+    for (Direction dir : walk) {
+      game.movePlayer(dir);
+    }
+  }
+
+}
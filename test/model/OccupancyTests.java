@@ -0,0 +1,58 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the index of which players are in which rooms.
+ */
+public class OccupancyTests {
+
+  @Test
+  public void matchesWherePlayersAre() {
+    //players wander a few rooms at random, so rooms keep filling up and emptying out
+    Random rand = new Random(4);
+    int[] at = new int[50];
+    Occupancy occupancy = new Occupancy(at.length, 0);
+    for (int i = 0; i < 20000; i++) {
+      int player = rand.nextInt(at.length);
+      int to = rand.nextInt(40) * 1000;
+      occupancy.move(player, at[player], to);
+      at[player] = to;
+    }
+    for (int cell = 0; cell < 40000; cell += 1000) {
+      int expected = 0;
+      for (int room : at) {
+        if (room == cell) {
+          expected++;
+        }
+      }
+      assertEquals(expected, occupancy.count(cell));
+      int found = 0;
+      for (int player = occupancy.first(cell); player != -1; player = occupancy.next(player)) {
+        assertEquals(cell, at[player]);
+        found++;
+      }
+      assertEquals(expected, found);
+    }
+  }
+
+  @Test
+  public void emptyRoomsAreForgotten() {
+    IntLongMap map = new IntLongMap();
+    for (int key = 0; key < 1000; key++) {
+      map.put(key * 7, key);
+    }
+    for (int key = 0; key < 1000; key += 2) {
+      map.remove(key * 7);
+    }
+    map.remove(3);
+    assertEquals(500, map.size());
+    for (int key = 0; key < 1000; key++) {
+      assertEquals(key % 2 == 0 ? -1 : key, map.get(key * 7, -1));
+    }
+  }
+}
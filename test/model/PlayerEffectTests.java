@@ -0,0 +1,51 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the effects kept on a player.
+ */
+public class PlayerEffectTests {
+
+  @Test
+  public void effectsKeepTheirOrder() {
+    Player player = new Player(0, 3, 1);
+    player.addEffect(PlayerEffect.NO_ARROWS);
+    player.addEffect(PlayerEffect.FELL_INTO_PIT);
+    player.addEffect(PlayerEffect.NO_ARROWS);
+    assertEquals(List.of(PlayerEffect.NO_ARROWS, PlayerEffect.FELL_INTO_PIT),
+            player.getRecentEffects());
+    assertTrue(player.hasEffect(PlayerEffect.FELL_INTO_PIT));
+    assertFalse(player.hasEffect(PlayerEffect.GRABBED_BY_BAT));
+  }
+
+  @Test
+  public void everyEffectFits() {
+    Player player = new Player(0, 3, 1);
+    for (int i = PlayerEffect.values().length - 1; i >= 0; i--) {
+      player.addEffect(PlayerEffect.values()[i]);
+    }
+    assertEquals(PlayerEffect.NO_ARROWS, player.getRecentEffects().get(0));
+    assertEquals(PlayerEffect.FELL_INTO_PIT, player.getRecentEffects().get(6));
+  }
+
+  @Test
+  public void onlySomeEffectsEndTheGame() {
+    Player player = new Player(0, 3, 1);
+    player.addEffect(PlayerEffect.GRABBED_BY_BAT);
+    player.addEffect(PlayerEffect.MISSED_WUMPUS);
+    assertFalse(player.isOut());
+    player.addEffect(PlayerEffect.RAN_INTO_WUMPUS);
+    assertTrue(player.isOut());
+    player.clearEffects();
+    assertFalse(player.isOut());
+    assertTrue(player.getRecentEffects().isEmpty());
+  }
+
+}
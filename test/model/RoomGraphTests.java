@@ -0,0 +1,62 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the room graph against walking the hallways by hand.
+ */
+public class RoomGraphTests {
+
+  @Test
+  public void matchesWalkingTheHallways() {
+    for (boolean wrapping : new boolean[]{false, true}) {
+      MazeBoard board = new NodeBoard(20, 30);
+      MazeLayout layout = new MazeLayout(20, 30, wrapping ? 500 : 300, wrapping, 0, 0, 19, 29,
+              10, 10, 91L, 1, 1, new KruskalGenerator(), (rows, cols) -> board);
+      RoomGraph graph = new RoomGraph(board);
+
+      for (int r = 0; r < 20; r++) {
+        for (int c = 0; c < 30; c++) {
+          if (board.getNode(r, c).getRoomType() == RoomType.HALLWAY) {
+            continue;
+          }
+          for (Direction dir : board.getNode(r, c).getConnectedDirs()) {
+            Position pos = layout.neighbor(new Position(r, c), dir);
+            Direction last = dir;
+            int length = 0;
+            while (board.getNode(pos.getRow(), pos.getCol()).getRoomType() == RoomType.HALLWAY) {
+              List<Direction> dirs = board.getNode(pos.getRow(), pos.getCol()).getConnectedDirs();
+              last = dirs.get(0) == last.opposite() ? dirs.get(1) : dirs.get(0);
+              pos = layout.neighbor(pos, last);
+              length++;
+            }
+            int cell = r * 30 + c;
+            assertEquals(pos.getRow() * 30 + pos.getCol(), graph.destination(cell, dir));
+            assertEquals(length, graph.hallwayLength(cell, dir));
+            assertEquals(length, layout.hallwayLength(new Position(r, c), dir));
+            assertEquals(last, graph.arrival(cell, dir));
+            assertEquals(pos, layout.connectedRoom(new Position(r, c), dir));
+          }
+        }
+      }
+    }
+  }
+
+  @Test
+  public void mapGrowsAndKeepsValues() {
+    IntLongMap map = new IntLongMap();
+    for (int i = 0; i < 10_000; i++) {
+      map.put(i * 7, (long) i << 33);
+    }
+    map.put(14, 5);
+    assertEquals(10_000, map.size());
+    assertEquals(5, map.get(14, -1));
+    assertEquals((long) 9_999 << 33, map.get(9_999 * 7, -1));
+    assertEquals(-1, map.get(3, -1));
+  }
+
+}
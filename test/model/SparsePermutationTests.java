@@ -0,0 +1,65 @@
+package model;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the lazily shuffled permutation.
+ */
+public class SparsePermutationTests {
+
+  @Test
+  public void drawsEveryNumberOnce() {
+    SparsePermutation permutation = new SparsePermutation(1000, new Random(12));
+    boolean[] seen = new boolean[1000];
+    for (int i = 0; i < 1000; i++) {
+      assertTrue(permutation.hasNext());
+      int number = permutation.next();
+      assertFalse(seen[number]);
+      seen[number] = true;
+    }
+    assertFalse(permutation.hasNext());
+  }
+
+  @Test
+  public void sameSeedSameOrder() {
+    SparsePermutation first = new SparsePermutation(Integer.MAX_VALUE >> 1, new Random(325));
+    SparsePermutation second = new SparsePermutation(Integer.MAX_VALUE >> 1, new Random(325));
+    for (int i = 0; i < 5000; i++) {
+      assertEquals(first.next(), second.next());
+    }
+  }
+
+  @Test
+  public void matchesAFullShuffle() {
+    //drawing lazily gives the same order as a Fisher-Yates shuffle of the whole array
+    int[] array = new int[200];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = i;
+    }
+    Random rand = new Random(77);
+    for (int i = 0; i < array.length; i++) {
+      int swapWith = i + rand.nextInt(array.length - i);
+      int temp = array[i];
+      array[i] = array[swapWith];
+      array[swapWith] = temp;
+    }
+    SparsePermutation permutation = new SparsePermutation(200, new Random(77));
+    for (int number : array) {
+      assertEquals(number, permutation.next());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void nothingLeft() {
+    SparsePermutation permutation = new SparsePermutation(1, new Random(1));
+    permutation.next();
+    permutation.next();
+  }
+
+}
@@ -0,0 +1,199 @@
+package server;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import model.Direction;
+import model.MazeBuilder;
+import model.MazeLayout;
+import model.PlayerEffect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the game server over loopback.
+ */
+public class GameServerTests {
+  private SessionManager manager;
+  private GameServer server;
+  private MazeLayout layout;
+
+  @Before
+  public void setUp() throws IOException {
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(6);
+    builder.setCols(6);
+    builder.setPerfect(true);
+    builder.setgRow(5);
+    builder.setgCol(5);
+    builder.setBatsPercentage(0);
+    builder.setPitsPercentage(0);
+    builder.setArrowCount(1);
+    builder.setSeed(21L);
+    this.layout = builder.buildLayout();
+    this.manager = new SessionManager();
+    this.server = new GameServer(this.manager, this.layout::newGame,
+            new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+    this.server.start();
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    this.server.close();
+    this.manager.close();
+  }
+
+  /**
+   * Sends a request frame.
+   */
+  private void send(SocketChannel channel, byte op, byte... args) throws IOException {
+    ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + 1 + args.length);
+    frame.putInt(1 + args.length).put(op).put(args).flip();
+    while (frame.hasRemaining()) {
+      channel.write(frame);
+    }
+  }
+
+  /**
+   * Reads a response frame, returning it from its status on.
+   */
+  private ByteBuffer receive(SocketChannel channel) throws IOException {
+    ByteBuffer length = this.readFully(channel, Integer.BYTES);
+    return this.readFully(channel, length.getInt());
+  }
+
+  private ByteBuffer readFully(SocketChannel channel, int length) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) == -1) {
+        throw new IOException("closed early");
+      }
+    }
+    return buffer.flip();
+  }
+
+  private SocketChannel connect() throws IOException {
+    return SocketChannel.open(this.server.getAddress());
+  }
+
+  @Test
+  public void thousandsOfConnections() throws IOException {
+    Direction first = this.layout.newGame().possiblePlayerMoves().get(0);
+    List<SocketChannel> clients = new ArrayList<>();
+    try {
+      for (int i = 0; i < 2000; i++) {
+        SocketChannel client = this.connect();
+        clients.add(client);
+        //every request is sent before any response is read
+        this.send(client, Protocol.CREATE);
+        this.send(client, Protocol.MOVE, (byte) first.ordinal());
+      }
+      for (SocketChannel client : clients) {
+        ByteBuffer created = this.receive(client);
+        assertEquals(Protocol.OK, created.get());
+        created.getLong();
+        ByteBuffer moved = this.receive(client);
+        assertEquals(Protocol.OK, moved.get());
+        assertTrue(moved.getLong() > 0);
+      }
+      assertEquals(2000, this.manager.getSessionCount());
+    } finally {
+      for (SocketChannel client : clients) {
+        client.close();
+      }
+    }
+  }
+
+  @Test
+  public void stateAfterAMissedShot() throws IOException {
+    try (SocketChannel client = this.connect()) {
+      this.send(client, Protocol.CREATE);
+      this.send(client, Protocol.SHOOT, (byte) Direction.NORTH.ordinal(), (byte) 0, (byte) 0,
+              (byte) 0x03, (byte) 0xE8);
+      assertEquals(Protocol.OK, this.receive(client).get());
+      ByteBuffer state = this.receive(client);
+      assertEquals(Protocol.OK, state.get());
+      assertEquals(0, state.getLong());
+      assertEquals(1, state.get());
+      assertEquals(1, state.getInt());
+      assertEquals(0, state.getInt());
+      assertEquals(0, state.getInt());
+      assertEquals(0, state.getInt());
+      assertEquals(1, state.getInt());
+      assertEquals(2, state.get());
+      assertEquals(PlayerEffect.MISSED_WUMPUS.ordinal(), state.get());
+      assertEquals(PlayerEffect.NO_ARROWS.ordinal(), state.get());
+
+      //the game is over, so moving fails, but the connection carries on
+      this.send(client, Protocol.MOVE, (byte) Direction.NORTH.ordinal());
+      ByteBuffer failed = this.receive(client);
+      assertEquals(Protocol.ERROR, failed.get());
+      assertEquals("The game is over", StandardCharsets.UTF_8.decode(failed).toString());
+
+      this.send(client, Protocol.RESTART);
+      ByteBuffer restarted = this.receive(client);
+      assertEquals(Protocol.OK, restarted.get());
+      restarted.getLong();
+      assertEquals(0, restarted.get());
+    }
+  }
+
+  @Test
+  public void resumeFromAnotherConnection() throws IOException {
+    long id;
+    try (SocketChannel client = this.connect()) {
+      this.send(client, Protocol.CREATE);
+      ByteBuffer created = this.receive(client);
+      created.get();
+      id = created.getLong();
+      this.send(client, Protocol.MOVE,
+              (byte) this.layout.newGame().possiblePlayerMoves().get(0).ordinal());
+      this.receive(client);
+    }
+    try (SocketChannel client = this.connect()) {
+      ByteBuffer resume = ByteBuffer.allocate(Long.BYTES).putLong(id);
+      this.send(client, Protocol.RESUME, resume.array());
+      ByteBuffer state = this.receive(client);
+      assertEquals(Protocol.OK, state.get());
+      assertTrue(state.getLong() > 0);
+
+      this.send(client, Protocol.CLOSE);
+      assertEquals(Protocol.OK, this.receive(client).get());
+      this.send(client, Protocol.STATE);
+      assertEquals(Protocol.ERROR, this.receive(client).get());
+      this.send(client, Protocol.RESUME, resume.array());
+      assertEquals(Protocol.ERROR, this.receive(client).get());
+    }
+  }
+
+  @Test
+  public void badRequestsGetErrors() throws IOException {
+    try (SocketChannel client = this.connect()) {
+      this.send(client, Protocol.STATE);
+      assertEquals(Protocol.ERROR, this.receive(client).get());
+      this.send(client, Protocol.CREATE);
+      assertEquals(Protocol.OK, this.receive(client).get());
+      this.send(client, Protocol.MOVE, (byte) 9);
+      assertEquals(Protocol.ERROR, this.receive(client).get());
+      this.send(client, Protocol.SHOOT, (byte) 0);
+      assertEquals(Protocol.ERROR, this.receive(client).get());
+      this.send(client, (byte) 42);
+      assertEquals(Protocol.ERROR, this.receive(client).get());
+      this.send(client, Protocol.STATE);
+      assertEquals(Protocol.OK, this.receive(client).get());
+      assertTrue(this.manager.getSessionCount() >= 1);
+    }
+  }
+
+}
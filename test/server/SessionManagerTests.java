@@ -0,0 +1,147 @@
+package server;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import model.Direction;
+import model.IMaze;
+import model.MazeBuilder;
+import model.MazeLayout;
+import model.MazeSnapshot;
+import model.Position;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests hosting many games with a session manager.
+ */
+public class SessionManagerTests {
+
+  /**
+   * Makes a small layout with nothing that can end the game but the wumpus.
+   */
+  private MazeLayout layout() {
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(6);
+    builder.setCols(6);
+    builder.setPerfect(true);
+    builder.setgRow(5);
+    builder.setgCol(5);
+    builder.setBatsPercentage(0);
+    builder.setPitsPercentage(0);
+    builder.setSeed(21L);
+    return builder.buildLayout();
+  }
+
+  @Test
+  public void manySessionsRunAtOnce() throws Exception {
+    MazeLayout layout = this.layout();
+    Direction first = layout.newGame().possiblePlayerMoves().get(0);
+    try (SessionManager manager = new SessionManager()) {
+      List<CompletableFuture<MazeSnapshot>> moves = new ArrayList<>();
+      for (int i = 0; i < 20_000; i++) {
+        GameSession session = manager.create(layout.newGame());
+        moves.add(session.move(first));
+      }
+      assertEquals(20_000, manager.getSessionCount());
+      Position moved = moves.get(0).get(10, TimeUnit.SECONDS).getPlayerLocation(1);
+      for (CompletableFuture<MazeSnapshot> move : moves) {
+        assertEquals(moved, move.get(10, TimeUnit.SECONDS).getPlayerLocation(1));
+      }
+      SessionMetrics metrics = manager.getMetrics();
+      assertEquals(20_000, metrics.getCommandsCompleted());
+      assertEquals(0, metrics.getCommandsFailed());
+      assertTrue(metrics.getThroughput() > 0);
+      assertTrue(metrics.getLatencyPercentile(0.5) <= metrics.getLatencyPercentile(1));
+      assertTrue(metrics.getMaxLatency() <= metrics.getLatencyPercentile(1));
+    }
+  }
+
+  @Test
+  public void commandsRunInOrder() throws Exception {
+    try (SessionManager manager = new SessionManager()) {
+      GameSession session = manager.create(this.layout().newGame());
+      //the list is not thread safe, so this also checks that commands never run at once
+      List<Integer> seen = new ArrayList<>();
+      CompletableFuture<Integer> last = null;
+      for (int i = 0; i < 1000; i++) {
+        int command = i;
+        last = session.submit(game -> {
+          seen.add(command);
+          return seen.size();
+        });
+      }
+      assertEquals(Integer.valueOf(1000), last.get(10, TimeUnit.SECONDS));
+      for (int i = 0; i < 1000; i++) {
+        assertEquals(Integer.valueOf(i), seen.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void failedCommandsDoNotStopTheSession() throws Exception {
+    try (SessionManager manager = new SessionManager()) {
+      GameSession session = manager.create(this.layout().newGame());
+      CompletableFuture<MazeSnapshot> bad = session.shoot(Direction.NORTH, 0);
+      try {
+        bad.get();
+        fail("a shot of distance 0 should fail");
+      } catch (ExecutionException e) {
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+      }
+      assertEquals(0, session.snapshot().get().getVersion());
+      assertEquals(1, manager.getMetrics().getCommandsFailed());
+
+      IMaze game = this.layout().newGame();
+      int walls = 0;
+      for (Direction dir : Direction.values()) {
+        if (!game.possiblePlayerMoves().contains(dir)) {
+          walls++;
+          try {
+            session.move(dir).get();
+            fail("moving into a wall should fail");
+          } catch (ExecutionException e) {
+            assertEquals(game.tryMove(dir).getMessage(), e.getCause().getMessage());
+          }
+        }
+      }
+      assertTrue(walls > 0);
+    }
+  }
+
+  @Test
+  public void sessionsCanBeResumedUntilClosed() {
+    try (SessionManager manager = new SessionManager()) {
+      GameSession session = manager.create(this.layout().newGame());
+      GameSession other = manager.create(this.layout().newGame());
+      assertNotEquals(session.getId(), other.getId());
+      assertEquals(session, manager.resume(session.getId()));
+      assertTrue(manager.close(session.getId()));
+      assertFalse(manager.close(session.getId()));
+      assertTrue(session.isClosed());
+      assertEquals(1, manager.getSessionCount());
+      try {
+        manager.resume(session.getId());
+        fail("a closed session should not be resumed");
+      } catch (IllegalArgumentException e) {
+        //expected
+      }
+      try {
+        session.snapshot();
+        fail("a closed session should not take commands");
+      } catch (IllegalStateException e) {
+        //expected
+      }
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+package simulation;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import model.Direction;
+import model.MazeBuilder;
+import model.PlayerEffect;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests running many games with the simulation engine.
+ */
+public class SimulationEngineTests {
+
+  /**
+   * Makes the settings of a small maze with pits and bats.
+   */
+  private MazeBuilder builder() {
+    MazeBuilder builder = new MazeBuilder();
+    builder.setRows(5);
+    builder.setCols(5);
+    builder.setPerfect(false);
+    builder.setWallsRemaining(10);
+    builder.setBatsPercentage(10);
+    builder.setPitsPercentage(10);
+    builder.setPlayerCount(2);
+    return builder;
+  }
+
+  @Test
+  public void everyGameIsCounted() {
+    SimulationReport report =
+            new SimulationEngine().run(this.builder(), 7L, 500, RandomAgent::new, 200);
+    assertEquals(500, report.getGames());
+    long ended = report.getGames() - report.getUnfinished();
+    //every finished game was won, or lost by every player going out
+    long out = report.getDeaths(PlayerEffect.RAN_INTO_WUMPUS)
+            + report.getDeaths(PlayerEffect.FELL_INTO_PIT)
+            + report.getDeaths(PlayerEffect.NO_ARROWS);
+    assertTrue(report.getWins() <= ended);
+    assertTrue(out >= 2 * (ended - report.getWins()));
+    assertEquals(0, report.getDeaths(PlayerEffect.GRABBED_BY_BAT));
+    assertTrue(report.getMinTurns() <= report.getAverageTurns());
+    assertTrue(report.getAverageTurns() <= report.getMaxTurns());
+    assertTrue(report.getMaxTurns() <= 200);
+  }
+
+  @Test
+  public void resultsDoNotDependOnThreads() {
+    ForkJoinPool one = new ForkJoinPool(1);
+    ForkJoinPool four = new ForkJoinPool(4);
+    try {
+      SimulationReport alone =
+              new SimulationEngine(one).run(this.builder(), 3L, 300, RandomAgent::new, 100);
+      SimulationReport shared =
+              new SimulationEngine(four).run(this.builder(), 3L, 300, RandomAgent::new, 100);
+      assertEquals(alone.toString(), shared.toString());
+      assertEquals(alone.getTotalTurns(), shared.getTotalTurns());
+      assertEquals(alone.getMinTurns(), shared.getMinTurns());
+      assertEquals(alone.getMaxTurns(), shared.getMaxTurns());
+    } finally {
+      one.shutdown();
+      four.shutdown();
+    }
+  }
+
+  @Test
+  public void rejectedCommandsAreNotTurns() {
+    //an agent that only walks into walls never takes a turn, and is stopped instead of looping
+    Agent stuck = (game, random) -> {
+      for (Direction dir : Direction.values()) {
+        if (!game.possiblePlayerMoves().contains(dir)) {
+          return game.tryMove(dir);
+        }
+      }
+      return game.tryShoot(null, 1);
+    };
+    SimulationReport report = new SimulationEngine().run(this.builder(), 5L, 20, () -> stuck, 3);
+    assertEquals(20, report.getUnfinished());
+    assertEquals(0, report.getTotalTurns());
+
+    //games that hit the limit took every turn allowed
+    SimulationReport random =
+            new SimulationEngine().run(this.builder(), 5L, 200, RandomAgent::new, 3);
+    assertTrue(random.getUnfinished() > 0);
+    assertEquals(3, random.getMaxTurns());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void needsAnAgent() {
+    new SimulationEngine().run(this.builder(), 1L, 10, null, 10);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void needsTurns() {
+    new SimulationEngine().run(this.builder(), 1L, 10, RandomAgent::new, 0);
+  }
+}